@@ -0,0 +1,197 @@
+package com.example.restapiwithspring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * 이벤트 API 부하 테스트. 애플리케이션을 임의 포트로 띄우고, 높은 동시성으로 생성/목록 조회 요청을 보내서
+ * 스레드 모드(app.threads.mode)와 경로별(동기 /api/events, 비동기 /api/async/events) 처리량과 p50/p99 지연시간을 측정한다.
+ *
+ * 시스템 프로퍼티 (exec:exec로 실행할 때는 -Dbenchmark.jvmArgs="-Dload.concurrency=500" 처럼 넘긴다)
+ *  - load.concurrency : 동시 클라이언트 수 (기본 200)
+ *  - load.seconds : 측정 시간 (기본 10초), load.warmupSeconds : 워밍업 시간 (기본 3초)
+ *  - load.paths : 비교할 경로 (기본 /api/events,/api/async/events)
+ *  - load.threadModes : 비교할 요청 스레드 모드 (기본 platform, 가상 스레드와 비교하려면 JDK 21 이상에서 platform,virtual)
+ *  - load.profile : 스프링 프로파일 (기본 test(H2), 실제 DB로 측정하려면 기본 프로파일 사용)
+ *  - load.properties : 애플리케이션에 넘길 추가 설정 (쉼표 구분, 예: server.tomcat.threads.max=50)
+ */
+public class EventLoadBenchmark {
+
+    private static final String EVENT_JSON = "{\"name\":\"load\",\"description\":\"load test\"," +
+            "\"beginEnrollmentDateTime\":\"2018-11-11T19:00:00\",\"closeEnrollmentDateTime\":\"2018-11-12T19:00:00\"," +
+            "\"beginEventDateTime\":\"2018-11-13T19:00:00\",\"endEventDateTime\":\"2018-11-13T21:00:00\"," +
+            "\"location\":\"gangnam\",\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100}";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        int seconds = Integer.getInteger("load.seconds", 10);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 3);
+        List<String> paths = Arrays.asList(System.getProperty("load.paths", "/api/events,/api/async/events").split(","));
+        List<String> threadModes = Arrays.asList(System.getProperty("load.threadModes", "platform").split(","));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String threadMode : threadModes) {
+            results.addAll(runApplication(threadMode, paths, concurrency, seconds, warmupSeconds, args));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(objectMapper.writeValueAsString(results));
+        File output = new File("target/load-result.json");
+        output.getParentFile().mkdirs();
+        objectMapper.writeValue(output, results);
+    }
+
+    /**
+     * 스레드 모드마다 애플리케이션을 새로 띄워서 측정한다.
+     */
+    private static List<Map<String, Object>> runApplication(String threadMode, List<String> paths, int concurrency,
+                                                            int seconds, int warmupSeconds, String[] args) throws InterruptedException {
+        //application.properties 보다 우선하도록 커맨드라인 인자로 넘긴다.
+        List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0",
+                "--app.threads.mode=" + threadMode));
+        String extraProperties = System.getProperty("load.properties", "");
+        if (!extraProperties.isBlank()) {
+            Arrays.stream(extraProperties.split(",")).forEach(property -> applicationArgs.add("--" + property));
+        }
+        applicationArgs.addAll(Arrays.asList(args));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestApiWithSpringApplication.class)
+                .profiles(System.getProperty("load.profile", "test"))
+                .run(applicationArgs.toArray(new String[0]));
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String baseUri = "http://localhost:" + port;
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String path : paths) {
+                IntFunction<HttpRequest> create = i -> HttpRequest.newBuilder(URI.create(baseUri + path))
+                        .header("Content-Type", "application/json")
+                        .header("Accept", "application/hal+json")
+                        .POST(HttpRequest.BodyPublishers.ofString(EVENT_JSON))
+                        .build();
+                IntFunction<HttpRequest> query = i -> HttpRequest.newBuilder(URI.create(baseUri + path + "?page=" + (i % 5) + "&size=20&sort=id,DESC"))
+                        .header("Accept", "application/hal+json")
+                        .GET()
+                        .build();
+
+                run(client, create, concurrency, warmupSeconds);
+                results.add(result(threadMode, path, "create", concurrency, run(client, create, concurrency, seconds)));
+                run(client, query, concurrency, warmupSeconds);
+                results.add(result(threadMode, path, "query", concurrency, run(client, query, concurrency, seconds)));
+            }
+            return results;
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * concurrency개의 스레드가 seconds 동안 쉬지 않고 요청을 보낸다.
+     */
+    private static Run run(HttpClient client, IntFunction<HttpRequest> requests, int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            long[] buffer = new long[1 << 16];
+            long[] count = new long[1];
+            latencies.add(count);
+            latencies.add(buffer);
+            Thread thread = new Thread(() -> {
+                int i = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(requests.apply(i++), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count[0] < buffer.length) {
+                        buffer[(int) count[0]] = System.nanoTime() - start;
+                    }
+                    count[0]++;
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long total = 0;
+        List<Long> all = new ArrayList<>();
+        for (int i = 0; i < latencies.size(); i += 2) {
+            long count = latencies.get(i)[0];
+            long[] buffer = latencies.get(i + 1);
+            total += count;
+            for (int j = 0; j < Math.min(count, buffer.length); j++) {
+                all.add(buffer[j]);
+            }
+        }
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Run(total, errors.get(), seconds, sorted);
+    }
+
+    private static Map<String, Object> result(String threadMode, String path, String operation, int concurrency, Run run) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threadMode", threadMode);
+        result.put("path", path);
+        result.put("operation", operation);
+        result.put("concurrency", concurrency);
+        result.put("requests", run.requests);
+        result.put("errors", run.errors);
+        result.put("throughputPerSecond", run.requests / (double) run.seconds);
+        result.put("p50Millis", run.percentile(0.50));
+        result.put("p99Millis", run.percentile(0.99));
+        result.put("maxMillis", run.percentile(1.0));
+        return result;
+    }
+
+    private static class Run {
+        private final long requests;
+        private final long errors;
+        private final int seconds;
+        private final long[] sortedLatencies;
+
+        Run(long requests, long errors, int seconds, long[] sortedLatencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.restapiwithspring.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 참가 신청 자리 확인 : EnrollmentCounter(빌려온 자리를 CAS로 꺼냄) vs synchronized 카운터.
+ * 8 스레드가 인기 이벤트 하나에 몰리는 경우(singleEvent), 자리가 다 찬 경우(fullEvent), 스레드마다 다른 이벤트에 신청하는 경우(eventPerThread)
+ * DB(EnrollmentSeats) 대신 메모리에서 조건부 UPDATE를 흉내내는 InMemorySeats를 쓰므로 빌려오는 비용은 들어가지 않는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EnrollmentCounterBenchmark {
+
+    private static final int FULL_EVENT_ID = -1;
+
+    private EnrollmentCounter enrollmentCounter;
+    private final Object lock = new Object();
+    private int synchronizedEnrolled;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadEvent {
+        int eventId;
+
+        @Setup
+        public void setUp(EnrollmentCounterBenchmark benchmark) {
+            this.eventId = benchmark.threadIds.incrementAndGet();
+        }
+    }
+
+    //측정마다 새로 만들어서 카운터가 넘치지 않게 한다.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.enrollmentCounter = new EnrollmentCounter(new InMemorySeats(), 20, Duration.ofSeconds(1), Duration.ofMinutes(1), 10_000);
+        this.enrollmentCounter.tryAcquire(FULL_EVENT_ID);
+        this.synchronizedEnrolled = 0;
+    }
+
+    @Benchmark
+    public boolean casSingleEvent() {
+        return this.enrollmentCounter.tryAcquire(0);
+    }
+
+    @Benchmark
+    public boolean casFullEvent() {
+        return this.enrollmentCounter.tryAcquire(FULL_EVENT_ID);
+    }
+
+    @Benchmark
+    public boolean casEventPerThread(ThreadEvent threadEvent) {
+        return this.enrollmentCounter.tryAcquire(threadEvent.eventId);
+    }
+
+    @Benchmark
+    public boolean synchronizedSingleEvent() {
+        synchronized (this.lock) {
+            if (this.synchronizedEnrolled >= Integer.MAX_VALUE) {
+                return false;
+            }
+            this.synchronizedEnrolled++;
+            return true;
+        }
+    }
+
+    /**
+     * FULL_EVENT_ID는 자리가 하나, 나머지 이벤트는 제한 없음
+     */
+    static class InMemorySeats extends EnrollmentSeats {
+
+        private final Map<Integer, Integer> reserved = new HashMap<>();
+
+        InMemorySeats() {
+            super(null);
+        }
+
+        @Override
+        public synchronized int lease(Integer eventId, int seats) {
+            int current = this.reserved.getOrDefault(eventId, 0);
+            int leased = eventId == FULL_EVENT_ID ? Math.min(seats, 1 - current) : seats;
+            if (leased <= 0) {
+                return 0;
+            }
+            this.reserved.put(eventId, current + leased);
+            return leased;
+        }
+
+        @Override
+        public synchronized void giveBack(Integer eventId, int seats) {
+            this.reserved.merge(eventId, -seats, Integer::sum);
+        }
+    }
+}
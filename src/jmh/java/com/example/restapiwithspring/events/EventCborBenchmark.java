@@ -0,0 +1,119 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HAL_JSON과 HAL CBOR(application/hal+cbor)의 크기와 인코딩/디코딩 시간 비교.
+ * 요청 본문(EventDto)과 목록 응답(PagedModel<EventModel>)을 각각 쓰고 읽는다. 크기는 Setup에서 출력한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventCborBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper jsonObjectMapper;
+    private ObjectMapper cborObjectMapper;
+    private ObjectReader jsonEventDtoReader;
+    private ObjectReader cborEventDtoReader;
+
+    private EventDto eventDto;
+    private PagedModel<EventModel> page;
+    private byte[] eventDtoJson;
+    private byte[] eventDtoCbor;
+    private byte[] pageJson;
+    private byte[] pageCbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        EventFixtures.bindRequest();
+        this.jsonObjectMapper = EventFixtures.halObjectMapper();
+        this.cborObjectMapper = EventFixtures.halCborObjectMapper();
+        this.jsonEventDtoReader = this.jsonObjectMapper.readerFor(EventDto.class);
+        this.cborEventDtoReader = this.cborObjectMapper.readerFor(EventDto.class);
+
+        this.eventDto = EventFixtures.eventDto();
+        PagedResourcesAssembler<Event> assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+        EventLinks links = EventLinks.current();
+        this.page = assembler.toModel(new PageImpl<>(EventFixtures.events(this.pageSize), PageRequest.of(1, this.pageSize), this.pageSize * 3L)
+                , e -> EventModel.of(e, links));
+        this.page.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+
+        this.eventDtoJson = this.jsonObjectMapper.writeValueAsBytes(this.eventDto);
+        this.eventDtoCbor = this.cborObjectMapper.writeValueAsBytes(this.eventDto);
+        this.pageJson = this.jsonObjectMapper.writeValueAsBytes(this.page);
+        this.pageCbor = this.cborObjectMapper.writeValueAsBytes(this.page);
+        System.out.printf("%nPayload bytes (pageSize=%d) : eventDto json=%d cbor=%d, page json=%d cbor=%d%n",
+                this.pageSize, this.eventDtoJson.length, this.eventDtoCbor.length, this.pageJson.length, this.pageCbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeEventDtoJson() throws IOException {
+        return this.jsonObjectMapper.writeValueAsBytes(this.eventDto);
+    }
+
+    @Benchmark
+    public byte[] encodeEventDtoCbor() throws IOException {
+        return this.cborObjectMapper.writeValueAsBytes(this.eventDto);
+    }
+
+    @Benchmark
+    public EventDto decodeEventDtoJson() throws IOException {
+        return this.jsonEventDtoReader.readValue(this.eventDtoJson);
+    }
+
+    @Benchmark
+    public EventDto decodeEventDtoCbor() throws IOException {
+        return this.cborEventDtoReader.readValue(this.eventDtoCbor);
+    }
+
+    @Benchmark
+    public byte[] encodePageJson() throws IOException {
+        return this.jsonObjectMapper.writeValueAsBytes(this.page);
+    }
+
+    @Benchmark
+    public byte[] encodePageCbor() throws IOException {
+        return this.cborObjectMapper.writeValueAsBytes(this.page);
+    }
+
+    /**
+     * 클라이언트가 목록 응답을 읽는 비용 (트리로 읽는다)
+     */
+    @Benchmark
+    public JsonNode decodePageJson() throws IOException {
+        return this.jsonObjectMapper.readTree(this.pageJson);
+    }
+
+    @Benchmark
+    public JsonNode decodePageCbor() throws IOException {
+        return this.cborObjectMapper.readTree(this.pageCbor);
+    }
+}
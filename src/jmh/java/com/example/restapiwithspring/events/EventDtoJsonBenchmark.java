@@ -0,0 +1,43 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 본문(JSON) -> EventDto 역직렬화 (fail-on-unknown-properties 켜짐)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDtoJsonBenchmark {
+
+    private ObjectReader reader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.reader = EventFixtures.objectMapper().readerFor(EventDto.class);
+        this.json = EventFixtures.objectMapper().writeValueAsString(EventFixtures.eventDto()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public EventDto deserialize() throws IOException {
+        return this.reader.readValue(this.json);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.ErrorsSerializer;
+import com.example.restapiwithspring.commons.EventModelSerializer;
+import com.example.restapiwithspring.commons.EventSerializer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공용 픽스처. 애플리케이션과 같은 설정의 ObjectMapper와 샘플 데이터를 만든다.
+ */
+final class EventFixtures {
+
+    private EventFixtures() {
+    }
+
+    /**
+     * application.properties 와 같이 fail-on-unknown-properties 를 켜고, 스프링 부트 기본 설정과 같이 날짜를 문자열로 쓰는 ObjectMapper
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(errorsModule())
+                .build();
+    }
+
+    /**
+     * HalCborConfiguration 과 같은 HAL CBOR ObjectMapper (날짜는 숫자 배열)
+     */
+    static ObjectMapper halCborObjectMapper() {
+        return halObjectMapper(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(errorsModule(), eventModule())
+                .build());
+    }
+
+    /**
+     * HAL_JSON 응답을 쓰는 ObjectMapper (_embedded.eventList, _links 형식)
+     */
+    static ObjectMapper halObjectMapper() {
+        return halObjectMapper(objectMapper().registerModule(eventModule()));
+    }
+
+    /**
+     * EventSerializer 없이 BeanSerializer로 Event를 쓰는 이전 방식의 HAL ObjectMapper
+     */
+    static ObjectMapper beanHalObjectMapper() {
+        return halObjectMapper(objectMapper());
+    }
+
+    private static ObjectMapper halObjectMapper(ObjectMapper mapper) {
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static SimpleModule errorsModule() {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Errors.class, new ErrorsSerializer());
+        return module;
+    }
+
+    private static SimpleModule eventModule() {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Event.class, new EventSerializer());
+        module.addSerializer(EventModel.class, new EventModelSerializer());
+        return module;
+    }
+
+    /**
+     * linkTo(...)가 현재 요청의 URI를 사용하므로 요청 컨텍스트를 만들어 둔다.
+     */
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static EventDto eventDto() {
+        return EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+
+    static EventDto wrongEventDto() {
+        EventDto eventDto = eventDto();
+        eventDto.setBasePrice(100);
+        eventDto.setMaxPrice(50);
+        eventDto.setBeginEnrollmentDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0));
+        return eventDto;
+    }
+
+    static List<Event> events(int size) {
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Event event = new DirectEventMapper().toEvent(eventDto());
+            event.setId(i + 1);
+            event.setName("event" + i);
+            event.update();
+            events.add(event);
+        }
+        return events;
+    }
+}
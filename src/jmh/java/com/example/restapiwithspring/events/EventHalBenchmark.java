@@ -0,0 +1,157 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * EventController와 같은 방식으로 HAL 응답(EntityModel / PagedModel)을 조립하고 직렬화하는 비용,
+ * 그리고 ErrorsSerializer로 에러 응답을 직렬화하는 비용.
+ * *WithLinkTo 는 요소마다 linkTo()로 링크를 만들던 이전 방식, *WithEntityModel 은 요소마다 EntityModel로 감싸고
+ * BeanSerializer로 쓰던 이전 방식이다. 할당량은 -prof gc 로 비교한다.
+ * (mvn -Pbenchmark test-compile exec:exec -Djmh.benchmarks=EventHalBenchmark.assemble -Djmh.args="-prof gc")
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventHalBenchmark {
+
+    /**
+     * 목록 조회 벤치마크에서만 쓰는 페이지 상태
+     */
+    @State(Scope.Thread)
+    public static class PageState {
+
+        @Param({"20", "100"})
+        public int pageSize;
+
+        private PagedResourcesAssembler<Event> assembler;
+        private Page<Event> page;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            EventFixtures.bindRequest();
+            this.assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+            this.page = new PageImpl<>(EventFixtures.events(this.pageSize), PageRequest.of(1, this.pageSize), this.pageSize * 3L);
+        }
+    }
+
+    private ObjectMapper halObjectMapper;
+    private ObjectMapper beanHalObjectMapper;
+    private Event event;
+    private EntityModel<Errors> errorsModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventFixtures.bindRequest();
+        this.halObjectMapper = EventFixtures.halObjectMapper();
+        this.beanHalObjectMapper = EventFixtures.beanHalObjectMapper();
+        this.event = EventFixtures.events(1).get(0);
+
+        EventDto wrongEventDto = EventFixtures.wrongEventDto();
+        Errors errors = new BeanPropertyBindingResult(wrongEventDto, "eventDto");
+        new EventValidator().validate(wrongEventDto, errors);
+        this.errorsModel = EntityModel.of(errors);
+        this.errorsModel.add(EventLinks.current().index());
+    }
+
+    /**
+     * 요청마다 새로 바인딩해서 EventLinks가 기준 주소를 요청당 한번 계산하는 비용도 포함되도록 한다.
+     */
+    @Setup(Level.Invocation)
+    public void newRequest() {
+        EventFixtures.bindRequest();
+    }
+
+    @Benchmark
+    public EntityModel<Event> assembleEntityModel() {
+        EventLinks links = EventLinks.current();
+        EntityModel<Event> entityModel = EntityModel.of(this.event);
+        entityModel.add(links.events("query-events"));
+        entityModel.add(links.event(this.event.getId(), IanaLinkRelations.SELF));
+        entityModel.add(links.event(this.event.getId(), "update-event"));
+        entityModel.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
+        return entityModel;
+    }
+
+    @Benchmark
+    public EntityModel<Event> assembleEntityModelWithLinkTo() {
+        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(this.event.getId());
+        EntityModel<Event> entityModel = EntityModel.of(this.event);
+        entityModel.add(linkTo(EventController.class).withRel("query-events"));
+        entityModel.add(selfLinkBuilder.withSelfRel());
+        entityModel.add(selfLinkBuilder.withRel("update-event"));
+        entityModel.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
+        return entityModel;
+    }
+
+    @Benchmark
+    public PagedModel<EventModel> assemblePagedModel(PageState state) {
+        EventLinks links = EventLinks.current();
+        PagedModel<EventModel> entityModels = state.assembler.toModel(state.page, e -> EventModel.of(e, links));
+        entityModels.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return entityModels;
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<Event>> assemblePagedModelWithEntityModel(PageState state) {
+        EventLinks links = EventLinks.current();
+        PagedModel<EntityModel<Event>> entityModels = state.assembler.toModel(state.page
+                , e -> EntityModel.of(e, links.event(e.getId(), IanaLinkRelations.SELF)));
+        entityModels.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return entityModels;
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<Event>> assemblePagedModelWithLinkTo(PageState state) {
+        PagedModel<EntityModel<Event>> entityModels = state.assembler.toModel(state.page
+                , e -> EntityModel.of(e, linkTo(EventController.class).slash(e.getId()).withSelfRel()));
+        entityModels.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return entityModels;
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePagedModel(PageState state) throws IOException {
+        return this.halObjectMapper.writeValueAsBytes(assemblePagedModel(state));
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePagedModelWithEntityModel(PageState state) throws IOException {
+        return this.beanHalObjectMapper.writeValueAsBytes(assemblePagedModelWithEntityModel(state));
+    }
+
+    @Benchmark
+    public byte[] serializeErrors() throws IOException {
+        return this.halObjectMapper.writeValueAsBytes(this.errorsModel);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.restapiwithspring.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventDto -> Event 변환 : ModelMapper(리플렉션) vs DirectEventMapper(직접 복사)
+ * 할당량까지 보려면 -Djmh.args="-prof gc" 를 붙여서 실행한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper directEventMapper;
+    private EventDto eventDto;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.directEventMapper = new DirectEventMapper();
+        this.eventDto = EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+
+    @Benchmark
+    public Event modelMapper() {
+        return this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event directEventMapper() {
+        return this.directEventMapper.toEvent(this.eventDto);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.restapiwithspring.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventValidator.validate() 와 Event.update()
+ * 전체 검증은 기존 방식(Bean Validation + EventValidator)과 EventDtoValidator를 비교한다. 할당량은 -prof gc 로 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventValidationBenchmark {
+
+    private EventValidator eventValidator;
+    private LocalValidatorFactoryBean validatorFactory;
+    private SpringValidatorAdapter beanValidator;
+    private EventDtoValidator eventDtoValidator;
+    private EventDto eventDto;
+    private EventDto wrongEventDto;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator();
+        this.validatorFactory = new LocalValidatorFactoryBean();
+        this.validatorFactory.afterPropertiesSet();
+        this.beanValidator = new SpringValidatorAdapter(this.validatorFactory);
+        this.eventDtoValidator = new EventDtoValidator(this.validatorFactory, this.eventValidator);
+        this.eventDto = EventFixtures.eventDto();
+        this.wrongEventDto = EventFixtures.wrongEventDto();
+        this.event = new DirectEventMapper().toEvent(this.eventDto);
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(this.eventDto, "eventDto");
+        this.eventValidator.validate(this.eventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateWrongValue() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors beanValidation() {
+        return beanValidation(this.eventDto);
+    }
+
+    @Benchmark
+    public Errors beanValidationWrongValue() {
+        return beanValidation(this.wrongEventDto);
+    }
+
+    @Benchmark
+    public Errors compiledValidation() {
+        Errors errors = new BeanPropertyBindingResult(this.eventDto, "eventDto");
+        this.eventDtoValidator.validate(this.eventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors compiledValidationWrongValue() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventDtoValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+
+    private Errors beanValidation(EventDto eventDto) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        this.event.update();
+        return this.event;
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.validatorFactory.close();
+    }
+}
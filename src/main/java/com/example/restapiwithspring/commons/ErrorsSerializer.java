@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 
 import java.io.IOException;
 
@@ -20,34 +22,37 @@ public class ErrorsSerializer extends JsonSerializer<Errors> {
         jsonGenerator.writeFieldName("errors"); //스프링 부트 2.3으로 올라가면서 Jackson 라이브러리가 더이상 Array부터 만드는걸 허용하지 않으므로 추가했음.
         jsonGenerator.writeStartArray();
 
-        errors.getFieldErrors().stream().forEach(e -> {
-            try {
-                jsonGenerator.writeStartObject();
-                jsonGenerator.writeStringField("field", e.getField());
-                jsonGenerator.writeStringField("objectName", e.getObjectName());
-                jsonGenerator.writeStringField("code", e.getCode());
-                jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
-                if (e.getRejectedValue() != null)
-                    jsonGenerator.writeStringField("rejectedValue", e.getRejectedValue().toString());
-                jsonGenerator.writeEndObject();
-            } catch (IOException ioException) {
-                ioException.printStackTrace();
+        //잘못된 요청이 많을 때도 부담이 없도록 스트림/람다 없이 쓴다.
+        for (FieldError e : errors.getFieldErrors()) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("field", e.getField());
+            jsonGenerator.writeStringField("objectName", e.getObjectName());
+            jsonGenerator.writeStringField("code", e.getCode());
+            jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
+            Object rejectedValue = e.getRejectedValue();
+            if (rejectedValue != null) {
+                jsonGenerator.writeStringField("rejectedValue", rejectedValue.toString());
             }
-        });
+            jsonGenerator.writeEndObject();
+        }
 
         //global error
-        errors.getGlobalErrors().stream().forEach(e -> {
-            try {
-                jsonGenerator.writeStartObject();
-                jsonGenerator.writeStringField("objectName", e.getObjectName());
-                jsonGenerator.writeStringField("code", e.getCode());
-                jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
-                jsonGenerator.writeEndObject();
-            } catch (IOException ioException) {
-                ioException.printStackTrace();
-            }
-        });
+        for (ObjectError e : errors.getGlobalErrors()) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("objectName", e.getObjectName());
+            jsonGenerator.writeStringField("code", e.getCode());
+            jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
+            jsonGenerator.writeEndObject();
+        }
 
         jsonGenerator.writeEndArray();
     }
+
+    /**
+     * 필드이름("errors")까지 직접 쓰므로 감싸는 객체의 필드로 풀어서(@JsonUnwrapped) 직렬화해야 한다.
+     */
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return true;
+    }
 }
@@ -0,0 +1,54 @@
+package com.example.restapiwithspring.commons;
+
+import com.example.restapiwithspring.events.EventModel;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * 목록 응답의 이벤트(EventModel)를 HAL 형식으로 쓴다. {"id":..., ..., "_links":{"self":{"href":"..."}}}
+ */
+@JsonComponent
+public class EventModelSerializer extends JsonSerializer<EventModel> implements ContextualSerializer {
+
+    private static final SerializedString LINKS = new SerializedString("_links");
+    private static final SerializedString SELF = new SerializedString("self");
+    private static final SerializedString HREF = new SerializedString("href");
+
+    private final EventSerializer eventSerializer;
+
+    public EventModelSerializer() {
+        this(new EventSerializer());
+    }
+
+    private EventModelSerializer(EventSerializer eventSerializer) {
+        this.eventSerializer = eventSerializer;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        return new EventModelSerializer((EventSerializer) this.eventSerializer.createContextual(provider, property));
+    }
+
+    @Override
+    public void serialize(EventModel eventModel, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeStartObject(eventModel);
+        this.eventSerializer.writeFields(eventModel.getEvent(), jsonGenerator, serializerProvider);
+        jsonGenerator.writeFieldName(LINKS);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName(SELF);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName(HREF);
+        jsonGenerator.writeString(eventModel.getSelfHref());
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeEndObject();
+    }
+}
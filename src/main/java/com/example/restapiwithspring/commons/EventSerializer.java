@@ -0,0 +1,150 @@
+package com.example.restapiwithspring.commons;
+
+import com.example.restapiwithspring.events.Event;
+import com.example.restapiwithspring.events.EventStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Event를 BeanSerializer(리플렉션으로 Lombok getter 호출) 대신 필드를 직접 쓴다.
+ * 필드 이름과 EventStatus 값은 미리 인코딩해 둔 SerializedString을 사용한다.
+ * 필드와 순서, null 처리는 기본 직렬화와 같다. (@JsonIgnore 인 version, lastModifiedDateTime 은 쓰지 않는다)
+ * 날짜는 애플리케이션에 설정된 LocalDateTime 직렬화기를 그대로 사용한다.
+ */
+@JsonComponent
+public class EventSerializer extends JsonSerializer<Event> implements ContextualSerializer {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString BEGIN_ENROLLMENT_DATE_TIME = new SerializedString("beginEnrollmentDateTime");
+    private static final SerializedString CLOSE_ENROLLMENT_DATE_TIME = new SerializedString("closeEnrollmentDateTime");
+    private static final SerializedString BEGIN_EVENT_DATE_TIME = new SerializedString("beginEventDateTime");
+    private static final SerializedString END_EVENT_DATE_TIME = new SerializedString("endEventDateTime");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString BASE_PRICE = new SerializedString("basePrice");
+    private static final SerializedString MAX_PRICE = new SerializedString("maxPrice");
+    private static final SerializedString LIMIT_OF_ENROLLMENT = new SerializedString("limitOfEnrollment");
+    private static final SerializedString OFFLINE = new SerializedString("offline");
+    private static final SerializedString FREE = new SerializedString("free");
+    private static final SerializedString EVENT_STATUS = new SerializedString("eventStatus");
+
+    private static final Map<EventStatus, SerializedString> EVENT_STATUS_VALUES = new EnumMap<>(EventStatus.class);
+
+    static {
+        for (EventStatus eventStatus : EventStatus.values()) {
+            EVENT_STATUS_VALUES.put(eventStatus, new SerializedString(eventStatus.name()));
+        }
+    }
+
+    private final boolean unwrapping;
+    private final JsonSerializer<Object> dateTimeSerializer;
+
+    public EventSerializer() {
+        this(false, null);
+    }
+
+    private EventSerializer(boolean unwrapping, JsonSerializer<Object> dateTimeSerializer) {
+        this.unwrapping = unwrapping;
+        this.dateTimeSerializer = dateTimeSerializer;
+    }
+
+    /**
+     * ObjectMapper마다 설정된 LocalDateTime 직렬화기를 찾아서 새 인스턴스를 만든다. (Jackson이 결과를 캐시한다)
+     */
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        return new EventSerializer(this.unwrapping, provider.findValueSerializer(LocalDateTime.class));
+    }
+
+    @Override
+    public void serialize(Event event, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        if (!this.unwrapping) {
+            jsonGenerator.writeStartObject(event);
+        }
+        writeFields(event, jsonGenerator, serializerProvider);
+        if (!this.unwrapping) {
+            jsonGenerator.writeEndObject();
+        }
+    }
+
+    /**
+     * 감싸는 객체 없이 Event 필드만 쓴다. (EventModelSerializer에서 _links 앞에 쓴다)
+     */
+    void writeFields(Event event, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeFieldName(ID);
+        if (event.getId() == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeNumber(event.getId());
+        }
+        writeString(jsonGenerator, NAME, event.getName());
+        writeString(jsonGenerator, DESCRIPTION, event.getDescription());
+        writeDateTime(jsonGenerator, serializerProvider, BEGIN_ENROLLMENT_DATE_TIME, event.getBeginEnrollmentDateTime());
+        writeDateTime(jsonGenerator, serializerProvider, CLOSE_ENROLLMENT_DATE_TIME, event.getCloseEnrollmentDateTime());
+        writeDateTime(jsonGenerator, serializerProvider, BEGIN_EVENT_DATE_TIME, event.getBeginEventDateTime());
+        writeDateTime(jsonGenerator, serializerProvider, END_EVENT_DATE_TIME, event.getEndEventDateTime());
+        writeString(jsonGenerator, LOCATION, event.getLocation());
+        jsonGenerator.writeFieldName(BASE_PRICE);
+        jsonGenerator.writeNumber(event.getBasePrice());
+        jsonGenerator.writeFieldName(MAX_PRICE);
+        jsonGenerator.writeNumber(event.getMaxPrice());
+        jsonGenerator.writeFieldName(LIMIT_OF_ENROLLMENT);
+        jsonGenerator.writeNumber(event.getLimitOfEnrollment());
+        jsonGenerator.writeFieldName(OFFLINE);
+        jsonGenerator.writeBoolean(event.isOffline());
+        jsonGenerator.writeFieldName(FREE);
+        jsonGenerator.writeBoolean(event.isFree());
+        jsonGenerator.writeFieldName(EVENT_STATUS);
+        if (event.getEventStatus() == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeString(EVENT_STATUS_VALUES.get(event.getEventStatus()));
+        }
+    }
+
+    private static void writeString(JsonGenerator jsonGenerator, SerializedString name, String value) throws IOException {
+        jsonGenerator.writeFieldName(name);
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeString(value);
+        }
+    }
+
+    private void writeDateTime(JsonGenerator jsonGenerator, SerializerProvider serializerProvider, SerializedString name, LocalDateTime value) throws IOException {
+        jsonGenerator.writeFieldName(name);
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else if (this.dateTimeSerializer == null) {
+            serializerProvider.defaultSerializeValue(value, jsonGenerator);
+        } else {
+            this.dateTimeSerializer.serialize(value, jsonGenerator, serializerProvider);
+        }
+    }
+
+    /**
+     * EntityModel<Event>의 content(@JsonUnwrapped)로 쓸 때는 객체 시작/끝 없이 필드만 쓴다.
+     */
+    @Override
+    public JsonSerializer<Event> unwrappingSerializer(NameTransformer unwrapper) {
+        return new EventSerializer(true, this.dateTimeSerializer);
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return this.unwrapping;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.restapiwithspring.commons;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM 시작부터 첫 /api 요청에 응답할 때까지 걸린 시간을 로그와 application.first.request.time 으로 남긴다.
+ * 기동 설정(fast-start 프로필, CDS)을 바꿀 때 전후 비교용이다. 컨텍스트 기동 시간(Started ... in)과 달리
+ * 지연 초기화(deferred 부트스트랩)에 걸린 시간까지 포함된다.
+ */
+@Component
+public class FirstRequestTimeFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimeFilter.class);
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    public FirstRequestTimeFilter(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.first.request.time", this.firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first /api response (-1 before it)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return this.firstRequestMillis.get() >= 0
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/api");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        long elapsed = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        if (this.firstRequestMillis.compareAndSet(-1, elapsed)) {
+            log.info("Served first /api request {} {} in {} ms after JVM start", request.getMethod(), request.getRequestURI(), elapsed);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.restapiwithspring.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
+
+/**
+ * 서비스 간 호출용 바이너리(CBOR) 응답/요청. Accept/Content-Type 이 application/hal+cbor 또는 application/cbor 이면
+ * HAL_JSON과 같은 구조(_links, _embedded)와 에러 형식(ErrorsSerializer)을 CBOR로 주고받는다. 기본은 HAL_JSON 그대로다.
+ * 날짜는 문자열 대신 숫자 배열([2018,11,11,19,0])로 쓴다. (읽을 때는 두 형식 모두 받는다)
+ */
+@Configuration(proxyBeanMethods = false)
+public class HalCborConfiguration implements WebMvcConfigurer {
+
+    public static final String HAL_CBOR_VALUE = "application/hal+cbor";
+    public static final MediaType HAL_CBOR = MediaType.valueOf(HAL_CBOR_VALUE);
+
+    /**
+     * 스프링 부트의 Jackson 설정(@JsonComponent, fail-on-unknown-properties 등)에 HAL 설정을 더한 CBOR 컨버터.
+     * 스프링 부트가 기본 CBOR 컨버터 대신 이 빈을 사용한다.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter halCborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder,
+                                                                              HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        ObjectMapper objectMapper = jackson2ObjectMapperBuilder.factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        halMediaTypeConfiguration.configureObjectMapper(objectMapper);
+
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(objectMapper);
+        converter.setSupportedMediaTypes(List.of(HAL_CBOR, MediaType.APPLICATION_CBOR));
+        return converter;
+    }
+
+    /**
+     * 같은 URI가 Accept에 따라 JSON/CBOR로 응답하므로 중간 캐시가 구분하도록 Vary: Accept 를 붙인다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/events/**", "/api/async/events/**");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.restapiwithspring.commons;
+
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.typesafe.config.ConfigFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hibernate 2차 캐시(JCache) 리전 설정을 application.conf 대신 hibernate-cache.conf 에서 읽도록 한다.
+ * Caffeine JCache는 hibernate.javax.cache.uri 를 사용하지 않으므로 세션팩토리를 만들기 전에 설정 위치를 지정한다.
+ *
+ * JCache CacheManager는 URI별로 JVM에 하나이므로, 애플리케이션 컨텍스트(세션팩토리)마다 따로 만들어서 넘긴다.
+ * 한 JVM에 컨텍스트가 여럿이면(테스트) 서로 다른 DB의 엔티티가 같은 리전에 섞이지 않게 된다. 세션팩토리를 닫을 때 같이 닫힌다.
+ */
+@Component
+public class HibernateCacheCustomizer implements HibernatePropertiesCustomizer {
+
+    private static final String CONFIG_RESOURCE = "hibernate-cache.conf";
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        TypesafeConfigurator.setConfigSource(() -> ConfigFactory.load(CONFIG_RESOURCE));
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.restapiwithspring.commons;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate 2차 캐시/쿼리 캐시 적중률. 요청 수(hibernate.second.level.cache.requests 등)는 스프링 부트가
+ * hibernate-micrometer로 등록하고, 여기서는 바로 볼 수 있도록 적중률 게이지를 더한다. (hibernate.generate_statistics=true 필요)
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", this.statistics,
+                        s -> ratio(s.getSecondLevelCacheHitCount(), s.getSecondLevelCacheMissCount()))
+                .description("Second-level cache hit ratio")
+                .register(registry);
+        Gauge.builder("hibernate.query.cache.hit.ratio", this.statistics,
+                        s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .description("Query cache hit ratio")
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.restapiwithspring.commons;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * app.rate-limit.enabled=true(기본값) 이면 /api/** 에 RateLimitInterceptor를 건다.
+ * 제한은 노드(JVM)마다 따로 센다. 노드가 N개면 클라이언트는 최대 N배까지 보낼 수 있다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties rateLimitProperties) {
+        return new RateLimiter(rateLimitProperties.getLimits(), rateLimitProperties.getMaxClients());
+    }
+
+    //EventResponseCacheFilter도 캐시에서 응답하는 요청을 이 인터셉터로 센다.
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
+        return new RateLimitInterceptor(rateLimiter, rateLimitProperties.getClientHeader(), rateLimitProperties.getApiKeys());
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
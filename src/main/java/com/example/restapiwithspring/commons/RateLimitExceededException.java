@@ -0,0 +1,30 @@
+package com.example.restapiwithspring.commons;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 요청 수 제한을 넘은 경우. RateLimitInterceptor가 컨트롤러 메소드 호출(요청 본문 바인딩) 전에 던진다.
+ * 컨트롤러의 @ExceptionHandler에서 429와 Retry-After로 응답한다.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String limit;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String limit, Duration retryAfter) {
+        super("Rate limit '" + limit + "' exceeded, retry after " + retryAfter);
+        this.limit = limit;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더 값(초). 올림해서 최소 1초다.
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = this.retryAfter.getSeconds();
+        return this.retryAfter.getNano() > 0 || seconds == 0 ? seconds + 1 : seconds;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.restapiwithspring.commons;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * @RateLimited 가 붙은 컨트롤러 메소드의 요청 수를 클라이언트(발급한 API 키, 아니면 IP)별로 제한한다.
+ * 헤더 값은 인증되지 않은 값이므로 api-keys 에 있는 키만 따로 세고, 모르는 키는 IP로 센다.
+ * (모르는 키마다 버킷을 만들면 키를 바꿔가며 제한을 피하고, max-clients를 채워서 다른 클라이언트의 버킷을 밀어낼 수 있다)
+ * 핸들러 인터셉터는 메소드 인자를 만들기 전에 실행되므로 거절한 요청은 본문을 읽거나 바인딩하지 않는다.
+ * 비동기 요청은 처음 들어올 때만 센다. (결과를 쓰려고 다시 디스패치될 때는 세지 않는다)
+ * 컨트롤러까지 오지 않는 응답(EventResponseCacheFilter가 캐시에서 응답한 목록 조회)은 필터가 tryAcquire로 센다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    //필터가 이미 센 요청의 결과(남은 시간, ns). 같은 요청을 두번 세지 않는다.
+    private static final String WAIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".wait";
+
+    private final RateLimiter rateLimiter;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, String clientHeader, Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = ((HandlerMethod) handler).getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        Long counted = (Long) request.getAttribute(WAIT_ATTRIBUTE);
+        long wait = counted != null ? counted : tryAcquire(rateLimited.value(), request);
+        if (wait > 0) {
+            throw new RateLimitExceededException(rateLimited.value(), Duration.ofNanos(wait));
+        }
+        return true;
+    }
+
+    /**
+     * 요청을 limit 제한으로 센다. 허용하면 0, 거절하면 다음 토큰까지 남은 시간(ns).
+     * 거절한 요청을 컨트롤러로 넘기면 preHandle은 다시 세지 않고 이 결과로 429를 응답한다.
+     */
+    public long tryAcquire(String limit, HttpServletRequest request) {
+        long wait = this.rateLimiter.tryAcquire(limit, client(request));
+        request.setAttribute(WAIT_ATTRIBUTE, wait);
+        return wait;
+    }
+
+    /**
+     * API 키와 IP가 같은 값이어도 섞이지 않게 접두어를 붙인다.
+     */
+    private String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(this.clientHeader);
+        return apiKey != null && this.apiKeys.contains(apiKey) ? "key:" + apiKey : "addr:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.restapiwithspring.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 클라이언트별 요청 수 제한 설정 (app.rate-limit.*). 제한 이름은 @RateLimited 의 value 이다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    //클라이언트를 구분하는 헤더. 값이 api-keys 에 없으면(헤더가 없는 경우 포함) 요청 IP로 구분한다.
+    private String clientHeader = "X-API-Key";
+
+    //발급한 API 키. 여기 있는 키만 따로 버킷을 받는다. 아무 값이나 보내서 새 버킷을 받을 수 없게 한다.
+    private Set<String> apiKeys = new HashSet<>();
+
+    //제한마다 기억하는 클라이언트 수. 넘으면 오래 안 쓴 것부터 버린다.
+    private long maxClients = 10_000;
+
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Limit {
+
+        //초당 채워지는 토큰 수 (평균 허용 요청 수)
+        private double permitsPerSecond;
+
+        //한번에 몰아서 보낼 수 있는 요청 수 (버킷 크기)
+        private int burst = 1;
+    }
+}
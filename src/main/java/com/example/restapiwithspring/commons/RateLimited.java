@@ -0,0 +1,19 @@
+package com.example.restapiwithspring.commons;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메소드에 클라이언트별 요청 수 제한을 건다. value는 app.rate-limit.limits.<이름> 의 이름이다.
+ * 설정에 없는 이름이면 제한하지 않는다. 같은 이름을 붙인 메소드끼리는 토큰을 같이 쓴다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    String value();
+}
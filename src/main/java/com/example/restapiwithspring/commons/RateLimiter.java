@@ -0,0 +1,104 @@
+package com.example.restapiwithspring.commons;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트별 토큰 버킷. 버킷 하나는 다음 토큰이 찰 시각(TAT, GCRA) 하나로 표현하고, 요청마다 CAS로 갱신하므로 락을 잡지 않는다.
+ * 버킷은 제한마다 Caffeine 캐시에 두고, 버킷이 가득 찰 만큼(burst / permitsPerSecond) 요청이 없으면 버린다.
+ * 가득 찬 버킷은 새로 만든 것과 같으므로 버려도 제한이 풀리지 않는다. (max-clients를 넘어서 버리는 경우는 예외)
+ * 허용/거절 수는 rate.limit.requests{limit, result}, 기억하는 클라이언트 수는 rate.limit.clients{limit} 로 확인한다.
+ */
+public class RateLimiter implements MeterBinder {
+
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    public RateLimiter(Map<String, RateLimitProperties.Limit> limits, long maxClients) {
+        limits.forEach((name, limit) -> this.limits.put(name, new Limit(name, limit, maxClients)));
+    }
+
+    /**
+     * 토큰 하나를 꺼낸다.
+     * @return 허용하면 0, 거절하면 다음 토큰이 찰 때까지 남은 시간(ns). 설정에 없는 제한이면 항상 0
+     */
+    public long tryAcquire(String limitName, String client) {
+        Limit limit = this.limits.get(limitName);
+        if (limit == null) {
+            return 0;
+        }
+        long wait = limit.tryAcquire(client);
+        (wait > 0 ? limit.rejected : limit.permitted).increment();
+        return wait;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Limit limit : this.limits.values()) {
+            FunctionCounter.builder("rate.limit.requests", limit.permitted, LongAdder::sum)
+                    .description("Requests checked against a rate limit")
+                    .tags("limit", limit.name, "result", "permitted")
+                    .register(registry);
+            FunctionCounter.builder("rate.limit.requests", limit.rejected, LongAdder::sum)
+                    .description("Requests checked against a rate limit")
+                    .tags("limit", limit.name, "result", "rejected")
+                    .register(registry);
+            Gauge.builder("rate.limit.clients", limit.buckets, Cache::estimatedSize)
+                    .description("Clients with a partially drained token bucket")
+                    .tag("limit", limit.name)
+                    .register(registry);
+        }
+    }
+
+    private static final class Limit {
+
+        private final String name;
+        //토큰 하나가 차는 시간(ns)
+        private final long interval;
+        //TAT가 지금보다 이만큼 앞서 있어도 허용한다. (burst - 1 개를 몰아서 쓸 수 있다)
+        private final long tolerance;
+        private final Cache<String, AtomicLong> buckets;
+        private final LongAdder permitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Limit(String name, RateLimitProperties.Limit limit, long maxClients) {
+            if (limit.getPermitsPerSecond() <= 0 || limit.getBurst() < 1) {
+                throw new IllegalArgumentException("app.rate-limit.limits." + name
+                        + " needs permits-per-second > 0 and burst >= 1");
+            }
+            this.name = name;
+            this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond()));
+            this.tolerance = this.interval * (limit.getBurst() - 1);
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofNanos(this.interval + this.tolerance))
+                    .maximumSize(maxClients)
+                    .build();
+        }
+
+        private long tryAcquire(String client) {
+            long now = System.nanoTime();
+            AtomicLong tat = this.buckets.get(client, key -> new AtomicLong(now));
+            while (true) {
+                long current = tat.get();
+                long start = current - now > 0 ? current : now;
+                long wait = start - now - this.tolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (tat.compareAndSet(current, start + this.interval)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
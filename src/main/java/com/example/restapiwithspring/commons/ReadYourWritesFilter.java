@@ -0,0 +1,80 @@
+package com.example.restapiwithspring.commons;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 쓰기 요청(POST, PUT, PATCH, DELETE)을 보낸 클라이언트에 read-your-writes 쿠키(만료 시각)를 내려주고,
+ * 그 시각까지 같은 클라이언트의 요청은 주 DB에서 읽게 한다. 복제본이 뒤처져 있어도 방금 만든 이벤트가 목록에 보인다.
+ * 쓰기 요청 자체도 수정용 조회가 최신 값을 읽도록 주 DB만 쓴다.
+ *
+ * 표시는 요청 속성에 남기므로 RequestContextTaskDecorator가 넘겨주는 비동기 작업 스레드에서도 적용된다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "read-your-writes";
+
+    private static final String PRIMARY_REQUIRED_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".PRIMARY_REQUIRED";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * 현재 요청을 주 DB에서 처리해야 하는지. 요청 밖(스케줄러, 쓰기 지연 스레드)이면 false.
+     */
+    public static boolean isPrimaryRequired() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+                && requestAttributes.getAttribute(PRIMARY_REQUIRED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            request.setAttribute(PRIMARY_REQUIRED_ATTRIBUTE, Boolean.TRUE);
+            //응답 본문을 쓰기 시작하면 헤더를 더할 수 없으므로 처리 전에 내려준다.
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + this.window.toMillis()));
+            cookie.setPath(request.getContextPath() + "/api");
+            cookie.setMaxAge((int) this.window.toSeconds());
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (withinWindow(request, now)) {
+            request.setAttribute(PRIMARY_REQUIRED_ATTRIBUTE, Boolean.TRUE);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean withinWindow(HttpServletRequest request, long now) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(cookie.getValue());
+            return now < until && until <= now + this.window.toMillis();   //임의로 늘린 값은 무시한다.
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.restapiwithspring.commons;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.datasource.replica.enabled=true 이면 spring.datasource.* 를 주 DB로, app.datasource.replica.urls 를 읽기 전용 복제본으로 쓴다.
+ * 기본값(false)은 스프링 부트 기본 설정(spring.datasource.* 하나)을 그대로 사용한다.
+ *
+ * JPA, Flyway 등은 @Primary인 dataSource(ReplicaRoutingDataSource)를 쓴다.
+ * 복제본 풀은 주 DB의 Hikari 설정을 복사해서 만들고, 풀 이름은 replica-0, replica-1 ... 이다. (hikaricp_* 메트릭의 pool 태그)
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, ReplicaProperties replicaProperties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            if (StringUtils.hasText(replicaProperties.getUsername())) {
+                replica.setUsername(replicaProperties.getUsername());
+                replica.setPassword(replicaProperties.getPassword());
+            }
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaLagMonitor(replicas, replicaProperties.getLagQuery(), replicaProperties.getMaxLag());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor.getReplicas(), replicaLagMonitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * 스프링은 하이버네이트 세션이 커넥션을 닫힐 때까지 잡고 있게 한다.(DELAYED_ACQUISITION_AND_HOLD)
+     * open-in-view로 요청마다 세션이 열려 있으면 첫 트랜잭션이 고른 DB를 요청 끝까지 쓰게 되므로, 트랜잭션마다 커넥션을 돌려주게 한다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.restapiwithspring.commons;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 복제본마다 lag-query 로 복제 지연을 재서 max-lag 이내인 복제본만 읽기에 쓴다.
+ * 지연을 잴 수 없는(접속 실패, 쿼리 오류) 복제본도 빼며, 쓸 수 있는 복제본이 없으면 읽기도 주 DB로 간다.
+ * 처음 재기 전까지는 모든 읽기가 주 DB로 간다. 지연 시간은 datasource.replica.lag{replica} 로 확인한다.
+ *
+ * 복제본 커넥션 풀은 이 빈과 같이 닫힌다. 풀 메트릭(hikaricp_*)도 여기서 연결한다.
+ */
+public class ReplicaLagMonitor implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        replicas.keySet().forEach(name -> this.lags.put(name, Double.NaN));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.replicas.forEach((name, dataSource) -> {
+            Gauge.builder("datasource.replica.lag", this.lags, lags -> lags.get(name))
+                    .description("Replication lag of the read replica (NaN if unknown)")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(registry);
+            if (dataSource instanceof HikariDataSource) {
+                try {
+                    ((HikariDataSource) dataSource).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                } catch (IllegalStateException e) {
+                    log.warn("Failed to bind metrics of {}: {}", name, e.getMessage());   //이미 풀이 시작됨
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void refresh() {
+        List<String> healthy = new ArrayList<>();
+        this.replicas.forEach((name, dataSource) -> {
+            double lag = measureLag(name, dataSource);
+            this.lags.put(name, lag);
+            if (lag <= this.maxLagSeconds) {    //NaN이면 false
+                healthy.add(name);
+            }
+        });
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * 읽기에 쓸 복제본을 돌아가면서 고른다. 쓸 수 있는 복제본이 없으면 null.
+     */
+    public String nextReplica() {
+        List<String> healthy = this.healthyReplicas;
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(this.next.getAndIncrement(), healthy.size()));
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return this.replicas;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return this.healthyReplicas;
+    }
+
+    private double measureLag(String name, DataSource dataSource) {
+        try {
+            Double lag = new JdbcTemplate(dataSource).queryForObject(this.lagQuery, Double.class);
+            return lag == null ? Double.NaN : lag;
+        } catch (RuntimeException e) {
+            log.warn("Failed to check replication lag of {}: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource dataSource : this.replicas.values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.restapiwithspring.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제본 설정 (app.datasource.replica.*). 커넥션 풀 설정은 spring.datasource.hikari.* 를 그대로 따른다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private List<String> urls = new ArrayList<>();
+
+    //비어 있으면 spring.datasource.username/password 를 쓴다.
+    private String username;
+
+    private String password;
+
+    //이보다 뒤처진 복제본에서는 읽지 않는다.
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    //복제본에서 실행해서 지연 시간(초)을 구하는 쿼리. 기본값은 PostgreSQL 스트리밍 복제 기준.
+    private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    //쓰기 요청 뒤 같은 클라이언트의 읽기를 주 DB로 보내는 시간
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+}
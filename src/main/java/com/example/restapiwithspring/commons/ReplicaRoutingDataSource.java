@@ -0,0 +1,97 @@
+package com.example.restapiwithspring.commons;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true), 스프링 데이터 리포지토리의 조회 메소드)은 복제본으로, 나머지는 주 DB로 보낸다.
+ * 쓰기 직후 같은 클라이언트의 요청(ReadYourWritesFilter), 요청 밖(스케줄러, 쓰기 지연 스레드), 쓸 수 있는 복제본이 없을 때도 주 DB로 보낸다.
+ *
+ * 복제본은 max-lag 만큼 뒤처져 있을 수 있으므로 복제본에서 읽은 값은 노드 전체가 쓰는 캐시에 넣지 않는다.
+ * (캐시에 넣으면 read-your-writes 쿠키가 있는 클라이언트에도 캐시가 만료될 때까지 이전 값이 보인다)
+ * 복제본을 고르면 하이버네이트 세션을 CacheMode.GET(2차 캐시/쿼리 캐시를 읽기만 함)으로 바꾸고, 스프링 캐시는 isReplicaRead로 확인한다.
+ *
+ * 트랜잭션이 시작될 때는 아직 readOnly 여부가 등록되지 않으므로 LazyConnectionDataSourceProxy로 감싸서
+ * 첫 SQL을 실행할 때 커넥션을 고르게 해야 한다. (ReplicaDataSourceConfiguration)
+ * 어디로 보냈는지는 datasource.routing{target} 로 확인한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String REPLICA_READ_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".REPLICA_READ";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Map<Object, LongAdder> routed = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        targets.keySet().forEach(target -> this.routed.put(target, new LongAdder()));
+    }
+
+    /**
+     * 현재 요청에서 복제본을 읽었는지. true이면 그 결과를 캐시에 넣지 않는다.
+     */
+    public static boolean isReplicaRead() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+                && requestAttributes.getAttribute(REPLICA_READ_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.routed.forEach((target, count) -> FunctionCounter.builder("datasource.routing", count, LongAdder::sum)
+                .description("Connections routed to the primary or a read replica")
+                .tag("target", target.toString())
+                .register(registry));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Object target = PRIMARY;
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesFilter.isPrimaryRequired()) {
+            String replica = this.lagMonitor.nextReplica();
+            if (replica != null) {
+                target = replica;
+                requestAttributes.setAttribute(REPLICA_READ_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                disableCachePuts();
+            }
+        }
+        this.routed.get(target).increment();
+        return target;
+    }
+
+    /**
+     * 커넥션을 고르는 트랜잭션의 하이버네이트 세션이 읽은 엔티티와 쿼리 결과를 캐시에 넣지 않게 한다.
+     */
+    private void disableCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder) {
+                ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.restapiwithspring.commons;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 요청 스레드의 RequestAttributes를 작업 스레드로 넘겨준다.
+ * linkTo(...)가 현재 요청의 호스트/포트로 링크를 만들기 때문에, 비동기로 처리하는 요청에서도 같은 링크가 나오도록 한다.
+ * 스프링 부트가 applicationTaskExecutor(spring.task.execution.*)에 자동으로 적용한다.
+ */
+@Component
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                runnable.run();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.restapiwithspring.commons;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 요청마다 실행한 하이버네이트 SQL 문 수를 hibernate.statements.per.request 로 기록한다. (method, uri 패턴별)
+ * 요청마다 빌더로 미터를 찾지 않도록 (uri 패턴, method)별 DistributionSummary를 처음 한번만 등록해 두고 record만 한다.
+ */
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ConcurrentMap<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+
+    public StatementCountFilter(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        this.statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = this.statementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summary(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString()).record(statements);
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        ConcurrentMap<String, DistributionSummary> byMethod = this.summaries.computeIfAbsent(uri, key -> new ConcurrentHashMap<>());
+        DistributionSummary summary = byMethod.get(method);
+        if (summary == null) {
+            summary = byMethod.computeIfAbsent(method, key -> DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("Hibernate statements executed per request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(this.meterRegistry));
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.restapiwithspring.commons;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 현재 스레드에서 하이버네이트가 실행한 SQL 문 수를 센다. (hibernate.session_factory.statement_inspector)
+ * 요청 단위 집계는 StatementCountFilter가 한다. 다른 스레드(비동기 요청의 작업 스레드)에서 실행한 SQL은 세지 않는다.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * start() 이후 실행한 SQL 문 수를 돌려주고 집계를 끝낸다.
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
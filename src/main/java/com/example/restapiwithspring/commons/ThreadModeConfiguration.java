@@ -0,0 +1,44 @@
+package com.example.restapiwithspring.commons;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * app.threads.mode=virtual 이면 톰캣 요청 처리와 applicationTaskExecutor(비동기 요청, @Async)를 가상 스레드로 실행한다.
+ * 기본값(platform)은 스프링 부트 기본 설정(톰캣 스레드풀, spring.task.execution.pool.*)을 그대로 사용한다.
+ *
+ * 가상 스레드는 요청 수만큼 동시에 실행되므로 동시성은 DB 커넥션 풀(Hikari)이 제한하게 된다.
+ * 풀 크기와 대기시간은 application-virtual.properties 를 참고한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.threads.mode", havingValue = "virtual")
+public class ThreadModeConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newVirtualThreadPerTaskExecutor();  //지원하지 않는 JVM이면 기동시 바로 실패한다.
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * 스프링 부트의 applicationTaskExecutor(스레드풀)를 대신한다.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor, RequestContextTaskDecorator taskDecorator) {
+        TaskExecutorAdapter taskExecutor = new TaskExecutorAdapter(virtualThreadExecutor);
+        taskExecutor.setTaskDecorator(taskDecorator);
+        return taskExecutor;
+    }
+}
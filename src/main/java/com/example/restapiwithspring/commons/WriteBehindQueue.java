@@ -0,0 +1,154 @@
+package com.example.restapiwithspring.commons;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 지연(write-behind) 큐. 크기가 정해진 큐에 넣은 항목을 writer 스레드 하나가 batch-size 건씩 꺼내서 write()로 저장한다.
+ * 큐가 가득 찼거나 종료중이면 offer가 false를 돌려준다.
+ *
+ * 종료시에는 웹 서버가 요청을 더 받지 않게 된 뒤에 멈추도록 phase를 낮게 두고, 큐에 남은 항목을 모두 저장한 다음 끝낸다.
+ * 큐 길이(&lt;prefix&gt;.queue.depth), 배치 저장 시간(&lt;prefix&gt;.batch), 배치 크기, 거절 건수를 기록한다.
+ */
+public abstract class WriteBehindQueue<T> implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    protected WriteBehindQueue(String name, MeterRegistry meterRegistry, int queueCapacity, int batchSize, Duration shutdownTimeout) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder(name + ".queue.depth", this.queue, BlockingQueue::size)
+                .description("Items waiting to be written")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder(name + ".batch")
+                .description("Time to write one batch of queued items")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(name + ".batch.size")
+                .description("Items written per batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(name + ".rejected")
+                .description("Items rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 배치 하나를 저장한다. writer 스레드(종료시에는 stop을 호출한 스레드)에서 호출된다.
+     */
+    protected abstract void write(List<T> batch);
+
+    /**
+     * 큐에 넣는다. 큐가 가득 찼거나 종료중이면 false.
+     */
+    public boolean offer(T item) {
+        if (!this.running || !this.queue.offer(item)) {
+            this.rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>(this.batchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                T first = this.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<T> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} items from {}", batch.size(), this.name, e);
+        } finally {
+            sample.stop(this.batchTimer);
+            this.batchSizes.record(batch.size());
+        }
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.writer = new Thread(this::drain, this.name);
+        this.writer.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        try {
+            this.writer.join(this.shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.writer.isAlive()) {
+            log.warn("{} writer did not finish within {}, {} items left in queue", this.name, this.shutdownTimeout, this.queue.size());
+            return;
+        }
+
+        //writer가 끝난 뒤에 들어온 것까지 이 스레드에서 저장한다.
+        List<T> rest = new ArrayList<>();
+        this.queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            writeBatch(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * 웹 서버(WebServerGracefulShutdownLifecycle, WebServerStartStopLifecycle)보다 나중에 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.HalCborConfiguration;
+import com.example.restapiwithspring.commons.RateLimitExceededException;
+import com.example.restapiwithspring.commons.RateLimited;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 이벤트 생성/목록 조회의 비동기(Servlet async) 버전.
+ * 요청 본문 바인딩까지만 톰캣 요청 스레드에서 하고, 검증, DB 작업과 HAL 응답 조립은 applicationTaskExecutor
+ * (spring.task.execution.pool.*)에서 처리하므로 DB를 기다리는 동안 요청 스레드를 붙잡고 있지 않는다.
+ * 응답(HAL, 에러 형식, 링크)과 요청 수 제한은 EventController와 같다.
+ */
+@Controller
+@RequestMapping(value = "/api/async/events", produces = {MediaTypes.HAL_JSON_VALUE, HalCborConfiguration.HAL_CBOR_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class AsyncEventController {
+
+    private final EventController eventController;
+
+    public AsyncEventController(EventController eventController) {
+        this.eventController = eventController;
+    }
+
+    @RateLimited(EventController.CREATE_LIMIT)
+    @PostMapping
+    public Callable<ResponseEntity> createEvent(@RequestBody EventDto eventDto, Errors errors) {
+        return () -> this.eventController.createEvent(eventDto, errors);
+    }
+
+    @RateLimited(EventController.QUERY_LIMIT)
+    @GetMapping
+    public Callable<ResponseEntity> queryEvents(EventSearch search, Pageable pageable, PagedResourcesAssembler<Event> assembler, WebRequest webRequest) {
+        return () -> this.eventController.queryEvents(search, pageable, assembler, webRequest);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity rateLimitExceeded(RateLimitExceededException e) {
+        return this.eventController.rateLimitExceeded(e);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 리플렉션 없이 필드를 직접 복사하는 EventMapper.
+ * EventDto에 필드가 추가되면 여기도 같이 고쳐야 하므로, 기동시 selfCheck()로 누락된 필드가 없는지 검사해서 바로 실패시킨다.
+ */
+@Component
+public class DirectEventMapper implements EventMapper, InitializingBean {
+
+    @Override
+    public Event toEvent(EventDto eventDto) {
+        Event event = new Event();
+        updateEvent(eventDto, event);
+        return event;
+    }
+
+    @Override
+    public void updateEvent(EventDto eventDto, Event event) {
+        event.setName(eventDto.getName());
+        event.setDescription(eventDto.getDescription());
+        event.setBeginEnrollmentDateTime(eventDto.getBeginEnrollmentDateTime());
+        event.setCloseEnrollmentDateTime(eventDto.getCloseEnrollmentDateTime());
+        event.setBeginEventDateTime(eventDto.getBeginEventDateTime());
+        event.setEndEventDateTime(eventDto.getEndEventDateTime());
+        event.setLocation(eventDto.getLocation());
+        event.setBasePrice(eventDto.getBasePrice());
+        event.setMaxPrice(eventDto.getMaxPrice());
+        event.setLimitOfEnrollment(eventDto.getLimitOfEnrollment());
+    }
+
+    @Override
+    public EventDto toEventDto(Event event) {
+        EventDto eventDto = new EventDto();
+        eventDto.setName(event.getName());
+        eventDto.setDescription(event.getDescription());
+        eventDto.setBeginEnrollmentDateTime(event.getBeginEnrollmentDateTime());
+        eventDto.setCloseEnrollmentDateTime(event.getCloseEnrollmentDateTime());
+        eventDto.setBeginEventDateTime(event.getBeginEventDateTime());
+        eventDto.setEndEventDateTime(event.getEndEventDateTime());
+        eventDto.setLocation(event.getLocation());
+        eventDto.setBasePrice(event.getBasePrice());
+        eventDto.setMaxPrice(event.getMaxPrice());
+        eventDto.setLimitOfEnrollment(event.getLimitOfEnrollment());
+        return eventDto;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        selfCheck();
+    }
+
+    /**
+     * EventDto의 모든 필드가 Event에 같은 이름, 같은 타입으로 있고 toEvent(), toEventDto()가 그 값을 그대로 복사하는지 검사한다.
+     * @throws IllegalStateException EventDto와 Event(또는 이 매퍼)가 어긋난 경우
+     */
+    void selfCheck() {
+        EventDto sample = new EventDto();
+        int seed = 1;
+        for (Field dtoField : EventDto.class.getDeclaredFields()) {
+            if (Modifier.isStatic(dtoField.getModifiers())) {
+                continue;
+            }
+            Field eventField = findField(Event.class, dtoField.getName());
+            if (eventField == null || !eventField.getType().equals(dtoField.getType())) {
+                throw new IllegalStateException("EventDto." + dtoField.getName() + " has no matching field in Event");
+            }
+            setField(dtoField, sample, sampleValue(dtoField, seed++));
+        }
+
+        Event event = toEvent(sample);
+        for (Field dtoField : EventDto.class.getDeclaredFields()) {
+            if (Modifier.isStatic(dtoField.getModifiers())) {
+                continue;
+            }
+            Field eventField = findField(Event.class, dtoField.getName());
+            if (!Objects.equals(getField(dtoField, sample), getField(eventField, event))) {
+                throw new IllegalStateException("DirectEventMapper does not copy EventDto." + dtoField.getName());
+            }
+        }
+
+        if (!sample.equals(toEventDto(event))) {
+            throw new IllegalStateException("DirectEventMapper.toEventDto does not copy every EventDto field");
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static Object sampleValue(Field field, int seed) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName();
+        } else if (type == int.class || type == Integer.class) {
+            return seed;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.TRUE;
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.of(2000, 1, 1, 0, 0).plusMinutes(seed);
+        }
+        throw new IllegalStateException("Unsupported EventDto field type : " + field.getName() + " " + type);
+    }
+
+    private static void setField(Field field, Object target, Object value) {
+        try {
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object getField(Field field, Object target) {
+        try {
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
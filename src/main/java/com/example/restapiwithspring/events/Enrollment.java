@@ -0,0 +1,31 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 참가 신청. 신청할 때 Event 행을 읽거나 잠그지 않도록 Event 연관관계 대신 eventId만 둔다.
+ * 테이블과 eventId 인덱스는 db/migration 에서 만든다.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@Entity
+public class Enrollment {
+
+    //Event와 같이 pooled 시퀀스를 써서 배치 저장시 insert를 JDBC batch로 묶는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    @JsonIgnore
+    private Long id;
+    private Integer eventId;
+    private String attendee;
+    private LocalDateTime enrolledDateTime;
+}
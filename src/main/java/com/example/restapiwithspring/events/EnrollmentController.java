@@ -0,0 +1,114 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.HalCborConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * 이벤트 참가 신청. 자리는 EnrollmentCounter가 DB에서 빌려온 자리로 메모리에서 바로 판정하고(신청마다 행 잠금 없음), 신청 내역은
+ * EnrollmentWriteBehind가 모아서 저장하므로 202로 응답한다.
+ * 신청 기간(BEGAN_ENROLLMENT)이 아니거나 자리가 없으면 409, 저장 큐가 가득 차면 429로 응답한다.
+ */
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = {MediaTypes.HAL_JSON_VALUE, HalCborConfiguration.HAL_CBOR_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+public class EnrollmentController {
+
+    private final EventRepository eventRepository;
+    private final EnrollmentCounter enrollmentCounter;
+    private final EnrollmentWriteBehind enrollmentWriteBehind;
+    private final SpringValidatorAdapter beanValidator;
+    private final Counter admitted;
+    private final Counter full;
+    private final Counter busy;
+
+    public EnrollmentController(EventRepository eventRepository, EnrollmentCounter enrollmentCounter, EnrollmentWriteBehind enrollmentWriteBehind,
+                                Validator validator, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.enrollmentCounter = enrollmentCounter;
+        this.enrollmentWriteBehind = enrollmentWriteBehind;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.admitted = enrollmentRequests(meterRegistry, "admitted");
+        this.full = enrollmentRequests(meterRegistry, "full");
+        this.busy = enrollmentRequests(meterRegistry, "busy");
+    }
+
+    private static Counter enrollmentRequests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrollments.requests")
+                .description("Enrollment requests by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostMapping
+    public ResponseEntity enroll(@PathVariable Integer eventId, @RequestBody EnrollmentDto enrollmentDto, Errors errors) {
+        this.beanValidator.validate(enrollmentDto, errors);
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(errorsModel(errors));
+        }
+
+        //상태는 캐시(events)된 Event에서 읽는다. 상태가 바뀌면(EventStatusTransitions, 수정) 캐시가 비워진다.
+        //limitOfEnrollment는 자리를 빌려올 때 DB에서 확인한다.
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (optionalEvent.get().getEventStatus() != EventStatus.BEGAN_ENROLLMENT) {
+            this.enrollmentCounter.close(eventId);     //빌려온 자리가 남아 있으면 돌려준다.
+            Errors closedErrors = new MapBindingResult(new HashMap<>(), "enrollmentDto");
+            closedErrors.reject("enrollmentClosed", "Event is not open for enrollment");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorsModel(closedErrors));
+        }
+
+        if (!this.enrollmentCounter.tryAcquire(eventId)) {
+            this.full.increment();
+            Errors fullErrors = new MapBindingResult(new HashMap<>(), "enrollmentDto");
+            fullErrors.reject("enrollmentFull", "Event is fully booked");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorsModel(fullErrors));
+        }
+
+        Enrollment enrollment = Enrollment.builder()
+                .eventId(eventId)
+                .attendee(enrollmentDto.getAttendee())
+                .enrolledDateTime(LocalDateTime.now())
+                .build();
+        if (!this.enrollmentWriteBehind.offer(enrollment)) {
+            this.enrollmentCounter.release(eventId);
+            this.busy.increment();
+            Errors queueErrors = new MapBindingResult(new HashMap<>(), "enrollmentDto");
+            queueErrors.reject("queueFull", "Enrollment write queue is full");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(errorsModel(queueErrors));
+        }
+        this.admitted.increment();
+
+        EntityModel<Enrollment> entityModel = EntityModel.of(enrollment);
+        entityModel.add(EventLinks.current().event(eventId, "event"));
+        entityModel.add(Link.of("/docs/index.html#resources-enrollments-create").withRel("profile"));
+        return ResponseEntity.accepted().body(entityModel);
+    }
+
+    private EntityModel<Errors> errorsModel(Errors errors) {
+        EntityModel<Errors> entityModel = EntityModel.of(errors);
+        entityModel.add(EventLinks.current().index());
+        return entityModel;
+    }
+}
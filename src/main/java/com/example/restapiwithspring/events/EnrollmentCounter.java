@@ -0,0 +1,164 @@
+package com.example.restapiwithspring.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트별 참가 신청 자리. 신청마다 Event 행을 잠그지 않고, DB(EnrollmentSeats)에서 lease-size 개씩 빌려온 자리를
+ * 메모리의 AtomicInteger에서 CAS로 하나씩 꺼낸다. 빌려온 자리가 떨어졌을 때만 DB에 다시 가므로 DB 갱신은 lease-size 건에 한번이다.
+ * 다 찬 이벤트는 full-recheck 동안 DB에 다시 묻지 않고 거절한다.
+ *
+ * 자리는 DB가 limit_of_enrollment를 넘지 않게 내주므로 노드가 여러 개여도 모두 합쳐서 limitOfEnrollment 보다 많이 받지 않는다.
+ * 대신 다 찬 것처럼 보여도 다른 노드가 빌려가서 아직 쓰지 않은 자리(노드마다 최대 lease-size - 1개)가 있을 수 있다.
+ * 이 자리는 이벤트가 신청 기간이 끝났을 때(close), lease-idle-timeout 동안 신청이 없을 때, max-events를 넘을 때, 종료할 때 돌려주며,
+ * 노드가 비정상 종료하면 돌아오지 않는다.
+ * 저장(EnrollmentWriteBehind)에 실패한 신청은 release로 이 노드의 자리로 되돌린다.
+ */
+@Component
+public class EnrollmentCounter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentCounter.class);
+
+    private final EnrollmentSeats enrollmentSeats;
+    private final int leaseSize;
+    private final long fullRecheckNanos;
+    //이벤트별로 빌려온 자리. 빠지면(만료, 크기 초과, close) 남은 자리를 DB에 돌려준다.
+    private final Cache<Integer, Seats> seatsByEvent;
+
+    public EnrollmentCounter(EnrollmentSeats enrollmentSeats,
+                             @Value("${app.enrollments.lease-size:20}") int leaseSize,
+                             @Value("${app.enrollments.full-recheck:1s}") Duration fullRecheck,
+                             @Value("${app.enrollments.lease-idle-timeout:1m}") Duration leaseIdleTimeout,
+                             @Value("${app.enrollments.max-events:10000}") long maxEvents) {
+        this.enrollmentSeats = enrollmentSeats;
+        this.leaseSize = leaseSize;
+        this.fullRecheckNanos = fullRecheck.toNanos();
+        this.seatsByEvent = Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterAccess(leaseIdleTimeout)
+                .executor(Runnable::run)    //돌려주기를 마친 뒤에 invalidate/destroy가 끝나도록 호출한 스레드에서 실행한다.
+                .<Integer, Seats>removalListener((eventId, seats, cause) -> giveBack(eventId, seats))
+                .build();
+    }
+
+    /**
+     * 자리가 있으면 하나 차지하고 true, 다 찼으면 false.
+     */
+    public boolean tryAcquire(Integer eventId) {
+        while (true) {
+            Seats seats = seats(eventId);
+            AtomicInteger available = seats.available;
+            int left = available.get();
+            if (left > 0) {
+                if (available.compareAndSet(left, left - 1)) {
+                    return true;
+                }
+                continue;
+            }
+            if (seats.isFull(this.fullRecheckNanos)) {
+                return false;
+            }
+            //빌려오는 것은 이벤트마다 한 스레드만 한다. 기다린 스레드는 빌려온 자리를 꺼낸다.
+            synchronized (seats) {
+                if (seats.closed || available.get() > 0) {
+                    continue;   //그 사이에 맵에서 빠졌으면 새 항목으로 다시 한다.
+                }
+                if (seats.isFull(this.fullRecheckNanos)) {
+                    return false;
+                }
+                int leased = this.enrollmentSeats.lease(eventId, this.leaseSize);
+                if (leased == 0) {
+                    seats.fullSince = System.nanoTime();
+                    seats.full = true;
+                    return false;
+                }
+                seats.full = false;
+                available.addAndGet(leased);
+            }
+        }
+    }
+
+    public void release(Integer eventId) {
+        Seats seats = this.seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            synchronized (seats) {
+                if (!seats.closed) {
+                    seats.available.incrementAndGet();
+                    return;
+                }
+            }
+        }
+        giveBack(eventId, 1);   //이미 돌려준 이벤트는 DB에 바로 돌려준다.
+    }
+
+    /**
+     * 신청 기간이 끝난 이벤트의 남은 자리를 돌려주고 잊는다.
+     */
+    public void close(Integer eventId) {
+        this.seatsByEvent.invalidate(eventId);
+    }
+
+    /**
+     * 이 노드가 빌려왔지만 아직 쓰지 않은 자리 수
+     */
+    public int getAvailable(Integer eventId) {
+        Seats seats = this.seatsByEvent.getIfPresent(eventId);
+        return seats == null ? 0 : seats.available.get();
+    }
+
+    private Seats seats(Integer eventId) {
+        return this.seatsByEvent.get(eventId, id -> new Seats());
+    }
+
+    /**
+     * 쓰지 않은 자리를 DB에 돌려준다. 신청 저장 큐(EnrollmentWriteBehind)가 멈춘 뒤에 호출된다.
+     */
+    @Override
+    public void destroy() {
+        this.seatsByEvent.invalidateAll();
+        this.seatsByEvent.cleanUp();
+    }
+
+    private void giveBack(Integer eventId, Seats seats) {
+        int left;
+        synchronized (seats) {
+            seats.closed = true;
+            left = seats.available.getAndSet(0);
+        }
+        if (left > 0) {
+            giveBack(eventId, left);
+        }
+    }
+
+    private void giveBack(Integer eventId, int left) {
+        try {
+            this.enrollmentSeats.giveBack(eventId, left);
+        } catch (DataAccessException e) {
+            log.warn("Failed to give back {} enrollment seats of event {}", left, eventId, e);
+        }
+    }
+
+    private static final class Seats {
+
+        //이 노드가 빌려왔지만 아직 쓰지 않은 자리
+        private final AtomicInteger available = new AtomicInteger();
+        //마지막으로 빌려오지 못한 시각. full 이면 그 뒤 full-recheck 동안은 DB에 묻지 않는다.
+        private volatile boolean full;
+        private volatile long fullSince;
+        //맵에서 빠져서 자리를 돌려줬다. 더 빌려오거나 되돌리지 않는다.
+        private boolean closed;
+
+        private boolean isFull(long recheckNanos) {
+            return this.full && System.nanoTime() - this.fullSince < recheckNanos;
+        }
+    }
+}
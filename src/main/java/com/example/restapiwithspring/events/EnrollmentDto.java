@@ -0,0 +1,15 @@
+package com.example.restapiwithspring.events;
+
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentDto {
+
+    @NotEmpty
+    private String attendee;
+}
@@ -0,0 +1,8 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    long countByEventId(Integer eventId);
+}
@@ -0,0 +1,51 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 모든 노드가 같이 보는 참가 신청 자리 수(event.reserved_seats). 노드는 자리를 여러 개씩 빌려가고(lease),
+ * DB는 조건부 UPDATE 한번으로 limit_of_enrollment를 넘지 않는 만큼만 내준다. (limit_of_enrollment가 0이면 제한 없음)
+ * 엔티티를 거치지 않으므로 Event 2차 캐시, 쿼리 캐시, 목록 변경 번호를 건드리지 않는다.
+ */
+@Component
+public class EnrollmentSeats {
+
+    private static final String LEASE_SQL = "update event set reserved_seats = reserved_seats + ?" +
+            " where id = ? and (limit_of_enrollment = 0 or reserved_seats + ? <= limit_of_enrollment)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentSeats(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 자리를 최대 seats 개 빌린다. 남은 자리가 그보다 적으면 남은 만큼만 빌린다.
+     * @return 빌린 자리 수. 다 찼거나 이벤트가 없으면 0
+     */
+    public int lease(Integer eventId, int seats) {
+        int wanted = seats;
+        while (true) {
+            if (this.jdbcTemplate.update(LEASE_SQL, wanted, eventId, wanted) == 1) {
+                return wanted;
+            }
+            //그 사이에 다른 노드가 빌려갔을 수 있으므로 남은 자리를 다시 읽는다.
+            List<Integer> remaining = this.jdbcTemplate.queryForList(
+                    "select limit_of_enrollment - reserved_seats from event where id = ?", Integer.class, eventId);
+            if (remaining.isEmpty() || remaining.get(0) <= 0) {
+                return 0;
+            }
+            wanted = Math.min(seats, remaining.get(0));
+        }
+    }
+
+    /**
+     * 쓰지 않은 자리를 돌려준다.
+     */
+    public void giveBack(Integer eventId, int seats) {
+        this.jdbcTemplate.update("update event set reserved_seats = reserved_seats - ? where id = ?", seats, eventId);
+    }
+}
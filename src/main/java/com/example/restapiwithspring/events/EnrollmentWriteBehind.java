@@ -0,0 +1,39 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.WriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 받은 참가 신청을 모아서 saveAll(배치 하나가 트랜잭션 하나)로 저장한다. 메트릭 이름은 enrollments.write.behind.* 이다.
+ * 저장에 실패하면 EnrollmentCounter의 자리를 되돌린다.
+ */
+@Component
+public class EnrollmentWriteBehind extends WriteBehindQueue<Enrollment> {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentCounter enrollmentCounter;
+
+    public EnrollmentWriteBehind(EnrollmentRepository enrollmentRepository, EnrollmentCounter enrollmentCounter, MeterRegistry meterRegistry,
+                                 @Value("${app.enrollments.write-behind.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.enrollments.write-behind.batch-size:500}") int batchSize,
+                                 @Value("${app.enrollments.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        super("enrollments.write.behind", meterRegistry, queueCapacity, batchSize, shutdownTimeout);
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentCounter = enrollmentCounter;
+    }
+
+    @Override
+    protected void write(List<Enrollment> batch) {
+        try {
+            this.enrollmentRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(enrollment -> this.enrollmentCounter.release(enrollment.getEventId()));
+            throw e;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.restapiwithspring.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+//테이블, 시퀀스, 인덱스는 db/migration(Flyway)에서 관리한다.
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -12,10 +17,15 @@ import java.time.LocalDateTime;
 @Setter
 @EqualsAndHashCode(of="id")
 @Entity
+@DynamicUpdate    //수정시 바뀐 컬럼만 update 한다.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")   //2차 캐시. 리전 설정은 hibernate-cache.conf
 public class Event {
 
+    //pooled 시퀀스로 id를 미리 할당받아야 Hibernate가 insert를 JDBC batch로 묶을 수 있다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -32,6 +42,19 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
 
+    //ETag / Last-Modified 계산과 수정시 낙관적 잠금용. 응답 본문에는 노출하지 않는다.
+    @Version
+    @JsonIgnore
+    private Integer version;
+    @JsonIgnore
+    private LocalDateTime lastModifiedDateTime;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.lastModifiedDateTime = LocalDateTime.now();
+    }
+
     public void update() {
         if (this.basePrice == 0 && this.maxPrice == 0) {
             this.free = true;
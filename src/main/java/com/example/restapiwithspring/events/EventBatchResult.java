@@ -0,0 +1,25 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.validation.Errors;
+
+import java.util.List;
+
+/**
+ * 일괄 생성 결과. 생성된 이벤트의 id 목록과 입력 순번(index)별 에러를 함께 담는다.
+ */
+@Getter
+public class EventBatchResult extends RepresentationModel<EventBatchResult> {
+
+    private final List<Integer> ids;
+
+    @JsonUnwrapped
+    private final Errors errors;
+
+    public EventBatchResult(List<Integer> ids, Errors errors) {
+        this.ids = ids;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 본문(EventDto)을 읽는 시간을 events.stage{operation=create, stage=binding} 으로 기록한다.
+ * 바인딩은 컨트롤러 메소드 호출 전에 끝나므로 HttpMessageConverter 앞뒤에서 잰다.
+ */
+@ControllerAdvice(assignableTypes = {EventController.class, AsyncEventController.class})
+public class EventBindingMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String START_ATTRIBUTE = EventBindingMetricsAdvice.class.getName() + ".start";
+
+    private final EventMetrics eventMetrics;
+
+    public EventBindingMetricsAdvice(EventMetrics eventMetrics) {
+        this.eventMetrics = eventMetrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return EventDto.class.equals(methodParameter.getParameterType());
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object start = requestAttributes.getAttribute(START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (start != null) {
+                this.eventMetrics.timer(EventMetrics.Operation.CREATE, EventMetrics.Stage.BINDING)
+                        .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.restapiwithspring.events;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 목록 전체의 변경 번호(event_change 한 행). 목록 ETag를 event 테이블 전체를 읽지 않고 계산한다.
+ *
+ * Event를 insert/update/delete 하는 트랜잭션에서 Hibernate 이벤트 리스너가 한번만 올리므로 이벤트와 같이 커밋/롤백된다.
+ * bulk UPDATE(EventStatusTransitions)는 리스너를 거치지 않으므로 bump를 직접 호출한다.
+ * 올리는 UPDATE는 마지막 flush가 끝난 뒤, 커밋 바로 전에 실행한다(BeforeTransactionCompletionProcess).
+ * 그래서 이 행의 잠금은 커밋하는 동안만 잡고, 배치 저장처럼 긴 트랜잭션이 다른 쓰기를 트랜잭션 내내 막지 않는다.
+ */
+@Component
+public class EventChangeStamp implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String BUMP_SQL = "update event_change set version = version + 1, last_modified_date_time = ? where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventChangeStamp(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    //목록 캐시와 같이 저장시 비워진다. 복제본에서 읽은 값은 캐시에 넣지 않는다.
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "eventPages", key = "'stamp'", unless = EventRepository.REPLICA_READ)
+    public EventsStamp find() {
+        return this.jdbcTemplate.queryForObject("select version, last_modified_date_time from event_change where id = 1",
+                (rs, rowNum) -> {
+                    Timestamp lastModified = rs.getTimestamp("last_modified_date_time");
+                    return new EventsStamp(rs.getLong("version"), lastModified == null ? null : lastModified.toLocalDateTime());
+                });
+    }
+
+    /**
+     * 진행중인 트랜잭션(JdbcTemplate가 같은 커넥션을 쓴다)에서 변경 번호를 올린다.
+     */
+    public void bump() {
+        this.jdbcTemplate.update(BUMP_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * flush 중에 호출되므로 커밋 전에 실행할 작업으로 등록만 한다. 한 트랜잭션에서 여러 이벤트를 저장해도 한번만 올린다.
+     */
+    private void changed(Object entity, EventSource session) {
+        if (!(entity instanceof Event)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventChangeStamp.this);
+                }
+            });
+        }
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) sessionImplementor ->
+                sessionImplementor.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(BUMP_SQL)) {
+                        statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                        statement.executeUpdate();
+                    }
+                }));
+    }
+}
@@ -1,90 +1,523 @@
 package com.example.restapiwithspring.events;
 
-import com.example.restapiwithspring.index.IndexController;
-import org.modelmapper.ModelMapper;
+import com.example.restapiwithspring.commons.HalCborConfiguration;
+import com.example.restapiwithspring.commons.RateLimitExceededException;
+import com.example.restapiwithspring.commons.RateLimited;
+import com.example.restapiwithspring.events.EventMetrics.Operation;
+import com.example.restapiwithspring.events.EventMetrics.Stage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
-import javax.validation.Valid;
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
 @Controller
-@RequestMapping(value="/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+@RequestMapping(value="/api/events", produces = {MediaTypes.HAL_JSON_VALUE, HalCborConfiguration.HAL_CBOR_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 public class EventController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final int BATCH_CHUNK_SIZE = 500;    //hibernate.jdbc.batch_size의 배수
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    //요청 수 제한 이름 (app.rate-limit.limits.*)
+    static final String CREATE_LIMIT = "create";
+    static final String QUERY_LIMIT = "query";
+
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
-    private final EventValidator eventValidator;
+    private final EventMapper eventMapper;
+    private final EventDtoValidator eventDtoValidator;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborObjectMapper;
+    private final EntityManager entityManager;
+    private final EventMetrics eventMetrics;
+    private final EventWriteBehind eventWriteBehind;
+    private final EventInvalidationBus eventInvalidationBus;
+    private final EventChangeStamp eventChangeStamp;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventDtoValidator eventDtoValidator,
+                           ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter halCborHttpMessageConverter,
+                           EntityManager entityManager, EventMetrics eventMetrics, EventWriteBehind eventWriteBehind,
+                           EventInvalidationBus eventInvalidationBus, EventChangeStamp eventChangeStamp) {
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
-        this.eventValidator = eventValidator;
+        this.eventMapper = eventMapper;
+        this.eventDtoValidator = eventDtoValidator;
+        this.objectMapper = objectMapper;
+        this.cborObjectMapper = halCborHttpMessageConverter.getObjectMapper();
+        this.entityManager = entityManager;
+        this.eventMetrics = eventMetrics;
+        this.eventWriteBehind = eventWriteBehind;
+        this.eventInvalidationBus = eventInvalidationBus;
+        this.eventChangeStamp = eventChangeStamp;
     }
 
+    /**
+     * 이벤트 생성. 단계별(binding, validation, mapping, persistence, assembly) 소요시간을 EventMetrics에 기록한다.
+     * binding은 EventBindingMetricsAdvice가 기록하고, 단계를 나눠 재기 위해 검증(@Valid 대신 EventDtoValidator)도 여기서 직접 한다.
+     */
+    @RateLimited(EventController.CREATE_LIMIT)
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors) {
+    public ResponseEntity createEvent(@RequestBody EventDto eventDto, Errors errors) {
+        Event event = toValidEvent(eventDto, errors);
+        if (event == null) {
+            return badRequest(errors);
+        }
+
+        Event newEvent = this.eventMetrics.record(Operation.CREATE, Stage.PERSISTENCE, () -> this.eventRepository.save(event));
+        this.eventInvalidationBus.publish(List.of(newEvent.getId()));
+
+        return this.eventMetrics.record(Operation.CREATE, Stage.ASSEMBLY, () -> {
+            EventLinks links = EventLinks.current();
+            URI createdUri = links.eventUri(newEvent.getId());
+
+            //HATEOAS
+            EntityModel<Event> entityModel = EntityModel.of(event);
+            entityModel.add(links.events("query-events"));
+            entityModel.add(links.event(newEvent.getId(), IanaLinkRelations.SELF));
+            entityModel.add(links.event(newEvent.getId(), "update-event"));
+            entityModel.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
 
-        if (errors.hasErrors()) {
+            return ResponseEntity.created(createdUri).eTag(EventETags.of(newEvent)).body(entityModel);
+        });
+    }
+
+    /**
+     * 이벤트 생성 요청을 쓰기 지연 큐(EventWriteBehind)에 넣고 바로 202를 응답한다. (Prefer: respond-async)
+     * 검증은 동기 생성과 같이 여기서 하고, 저장은 writer 스레드가 배치로 한다. 처리 상태는 Location의 submission으로 확인한다.
+     * 큐가 가득 차면 429와 Retry-After로 응답한다.
+     */
+    @RateLimited(EventController.CREATE_LIMIT)
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity submitEvent(@RequestBody EventDto eventDto, Errors errors) {
+        Event event = toValidEvent(eventDto, errors);
+        if (event == null) {
             return badRequest(errors);
         }
 
-        eventValidator.validate(eventDto, errors);
-        if (errors.hasErrors()) {
+        EventSubmission submission = this.eventWriteBehind.submit(event);
+        if (submission == null) {
+            Errors queueErrors = new MapBindingResult(new HashMap<>(), "eventDto");
+            queueErrors.reject("queueFull", "Event write queue is full");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(errorsModel(queueErrors));
+        }
+
+        EventLinks links = EventLinks.current();
+        return ResponseEntity.accepted()
+                .location(links.submissionUri(submission.getTicket()))
+                .header("Preference-Applied", "respond-async")
+                .body(submissionModel(submission, links));
+    }
+
+    /**
+     * 쓰기 지연 요청의 처리 상태. 저장되면(CREATED) _links.event 로 이벤트를 조회할 수 있다.
+     * 상태는 요청을 받은 노드에만 있으므로 다른 노드에서는 404이다.
+     */
+    @GetMapping("/submissions/{ticket}")
+    public ResponseEntity getSubmission(@PathVariable String ticket) {
+        EventSubmission submission = this.eventWriteBehind.getSubmission(ticket);
+        if (submission == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(submissionModel(submission, EventLinks.current()));
+    }
+
+    private EntityModel<EventSubmission> submissionModel(EventSubmission submission, EventLinks links) {
+        EntityModel<EventSubmission> entityModel = EntityModel.of(submission);
+        entityModel.add(links.submission(submission.getTicket(), IanaLinkRelations.SELF));
+        if (submission.getStatus() == EventSubmission.Status.CREATED) {
+            entityModel.add(links.event(submission.getEventId(), "event"));
+        }
+        entityModel.add(Link.of("/docs/index.html#resources-events-submit").withRel("profile"));
+        return entityModel;
+    }
+
+    /**
+     * 검증(EventDtoValidator)하고 Event로 바꾼다. 검증에 실패하면 null.
+     */
+    private Event toValidEvent(EventDto eventDto, Errors errors) {
+        if (!validate(Operation.CREATE, eventDto, errors)) {
+            return null;
+        }
+
+        return this.eventMetrics.record(Operation.CREATE, Stage.MAPPING, () -> {
+            Event mapped = this.eventMapper.toEvent(eventDto);
+            mapped.update();
+            return mapped;
+        });
+    }
+
+    private boolean validate(Operation operation, EventDto eventDto, Errors errors) {
+        this.eventMetrics.record(operation, Stage.VALIDATION, () -> this.eventDtoValidator.validate(eventDto, errors));
+        return !errors.hasErrors();
+    }
+
+    /**
+     * 이벤트 일괄 생성. JSON 배열 또는 NDJSON(한줄에 EventDto 하나), CBOR 배열 또는 CBOR 시퀀스를 스트림으로 읽으면서 건별로 검증하고,
+     * 검증을 통과한 이벤트는 BATCH_CHUNK_SIZE 단위로 저장한다(JDBC batch insert).
+     * 실패한 건은 objectName이 eventDtos[index] 인 에러로 응답한다.
+     * 모두 성공하면 201, 일부만 성공하면 200, 모두 실패하면 400을 응답한다.
+     */
+    @RateLimited(EventController.CREATE_LIMIT)
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity createEvents(HttpServletRequest request) throws IOException {
+        BindingResult errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+        List<Integer> ids = new ArrayList<>();
+        List<Event> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+
+        boolean cbor = MediaType.APPLICATION_CBOR.includes(MediaType.parseMediaType(request.getContentType()));
+        ObjectReader reader = (cbor ? this.cborObjectMapper : this.objectMapper).readerFor(EventDto.class);
+        try (MappingIterator<EventDto> iterator = reader.readValues(request.getInputStream())) {
+            int index = 0;
+            while (true) {
+                String objectName = "eventDtos[" + index + "]";
+                EventDto eventDto;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    eventDto = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    //형식이 깨진 입력은 이후 항목의 경계를 알 수 없으므로 여기서 읽기를 멈춘다.
+                    errors.addError(new ObjectError(objectName, new String[]{"wrongFormat"}, null, e.getOriginalMessage()));
+                    break;
+                }
+
+                BeanPropertyBindingResult itemErrors = new BeanPropertyBindingResult(eventDto, objectName);
+                this.eventDtoValidator.validate(eventDto, itemErrors);
+
+                if (itemErrors.hasErrors()) {
+                    this.eventMetrics.validationFailed(itemErrors);
+                    itemErrors.getAllErrors().forEach(errors::addError);
+                } else {
+                    Event event = this.eventMapper.toEvent(eventDto);
+                    event.update();
+                    chunk.add(event);
+                    if (chunk.size() == BATCH_CHUNK_SIZE) {
+                        saveChunk(chunk, ids);
+                    }
+                }
+                index++;
+            }
+        }
+        saveChunk(chunk, ids);
+
+        EventBatchResult result = new EventBatchResult(ids, errors);
+        EventLinks links = EventLinks.current();
+        result.add(links.events("query-events"));
+        result.add(Link.of("/docs/index.html#resources-events-batch").withRel("profile"));
+        if (!errors.hasErrors()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        }
+
+        result.add(links.index());
+        return ids.isEmpty() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+    }
+
+    private void saveChunk(List<Event> chunk, List<Integer> ids) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int from = ids.size();
+        this.eventRepository.saveAll(chunk).forEach(e -> ids.add(e.getId()));
+        this.eventInvalidationBus.publish(ids.subList(from, ids.size()));
+        chunk.clear();
+        this.entityManager.clear();     //요청 단위 영속성 컨텍스트(OSIV)에 저장한 엔티티가 계속 쌓이지 않도록 비운다.
+    }
+
+    /**
+     * 목록 조회. eventStatus, free, offline, location, 날짜 범위(beginEventFrom/To, beginEnrollmentFrom/To) 파라미터로 검색할 수 있다.
+     * 조건부 요청 확인(validation), 조회(persistence), HAL 조립(assembly) 소요시간을 EventMetrics에 기록한다.
+     */
+    @RateLimited(EventController.QUERY_LIMIT)
+    @GetMapping
+    public ResponseEntity queryEvents(EventSearch search, Pageable pageable, PagedResourcesAssembler<Event> assembler, WebRequest webRequest) {
+        boolean notModified = this.eventMetrics.record(Operation.QUERY, Stage.VALIDATION, () -> isNotModified(webRequest));
+        if (notModified) {
+            return null;    //304 Not Modified
+        }
+
+        Page<Event> page = this.eventMetrics.record(Operation.QUERY, Stage.PERSISTENCE, () -> search.hasCriteria()
+                ? this.eventRepository.findAll(EventSpecs.of(search), pageable)
+                : this.eventRepository.findAll(pageable));
+
+        return this.eventMetrics.record(Operation.QUERY, Stage.ASSEMBLY, () -> {
+            //List의 각 element마다 _links.self 를 생성 (EntityModel 대신 EventModel로 감싸서 EventModelSerializer가 바로 쓴다)
+            EventLinks links = EventLinks.current();
+            PagedModel<EventModel> entityModels = assembler.toModel(page, e -> EventModel.of(e, links));
+
+            //_links.profile을 생성
+            entityModels.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+            return ResponseEntity.ok(entityModels);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity getEvent(@PathVariable Integer id, WebRequest webRequest) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = optionalEvent.get();
+        if (webRequest.checkNotModified(EventETags.of(event), EventETags.lastModified(event.getLastModifiedDateTime()))) {
+            return null;    //304 Not Modified
+        }
+
+        EventLinks links = EventLinks.current();
+        EntityModel<Event> entityModel = EntityModel.of(event);
+        entityModel.add(links.event(event.getId(), IanaLinkRelations.SELF));
+        entityModel.add(links.event(event.getId(), "update-event"));
+        entityModel.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+        return ResponseEntity.ok(entityModel);
+    }
+
+    /**
+     * 이벤트 수정(전체). 생성과 같은 검증을 하고 free/offline은 다시 계산한다.
+     * If-Match(ETag)를 보내면 현재 버전과 다를 때 412로 응답한다(RFC 7232 3.1). 저장할 때도 @Version으로 다시 확인하므로(낙관적 잠금)
+     * 조회와 저장 사이에 다른 수정이 끼어들면 409가 된다.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody EventDto eventDto, Errors errors,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventRepository.findForUpdateById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = optionalEvent.get();
+        if (!matches(event, ifMatch)) {
+            return preconditionFailed();
+        }
+        if (!validate(Operation.UPDATE, eventDto, errors)) {
             return badRequest(errors);
         }
+        return saveUpdate(event, eventDto);
+    }
+
+    /**
+     * 이벤트 부분 수정. JSON Merge Patch(RFC 7386) 형식으로 바꿀 필드만 보낸다.
+     * 현재 값에 patch를 덮어쓴 EventDto를 PUT과 같이 검증하고 저장한다. (바뀐 컬럼만 update, @DynamicUpdate)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity patchEvent(@PathVariable Integer id, @RequestBody JsonNode patch,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> optionalEvent = this.eventRepository.findForUpdateById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = optionalEvent.get();
+        if (!matches(event, ifMatch)) {
+            return preconditionFailed();
+        }
+
+        EventDto eventDto = this.eventMapper.toEventDto(event);
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        try {
+            this.objectMapper.readerForUpdating(eventDto).readValue(patch);
+        } catch (IOException e) {
+            errors.reject("wrongFormat", e.getMessage());
+            return badRequest(errors);
+        }
+        if (!validate(Operation.UPDATE, eventDto, errors)) {
+            return badRequest(errors);
+        }
+        return saveUpdate(event, eventDto);
+    }
+
+    private ResponseEntity saveUpdate(Event event, EventDto eventDto) {
+        this.eventMapper.updateEvent(eventDto, event);
         event.update();
-        Event newEvent = this.eventRepository.save(event);
+        Event updated = this.eventMetrics.record(Operation.UPDATE, Stage.PERSISTENCE, () -> this.eventRepository.saveAndFlush(event));
+        this.eventInvalidationBus.publish(List.of(updated.getId()));
 
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
+        EventLinks links = EventLinks.current();
+        EntityModel<Event> entityModel = EntityModel.of(updated);
+        entityModel.add(links.event(updated.getId(), IanaLinkRelations.SELF));
+        entityModel.add(links.event(updated.getId(), "update-event"));
+        entityModel.add(Link.of("/docs/index.html#resources-events-update").withRel("profile"));
+        return ResponseEntity.ok().eTag(EventETags.of(updated)).body(entityModel);
+    }
 
-        //HATEOAS
-        EntityModel<Event> entityModel = EntityModel.of(event);
-        entityModel.add(linkTo(EventController.class).withRel("query-events"));
-        entityModel.add(selfLinkBuilder.withSelfRel());
-        entityModel.add(selfLinkBuilder.withRel("update-event"));
-        entityModel.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
+    /**
+     * If-Match가 없거나 * 이거나 현재 ETag(표현은 상관없이)를 포함하면 true.
+     */
+    private boolean matches(Event event, String ifMatch) {
+        if (ifMatch == null) {
+            return true;
+        }
+        List<String> eTags = EventETags.allOf(event);
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || eTags.contains(tag));
+    }
 
-        return ResponseEntity.created(createdUri).body(entityModel);
+    /**
+     * 저장(flush)할 때 버전이 맞지 않으면, 즉 그 사이에 다른 요청이 수정했으면 409로 응답한다.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity optimisticLockingFailure() {
+        return conflict();
     }
 
-    @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        
-        //List의 각 element마다 _links.self 를 생성
-        PagedModel<EntityModel<Event>> entityModels = assembler.toModel(page
-                , e -> EntityModel.of(e, linkTo(EventController.class).slash(e.getId()).withSelfRel()));
-        
-        //_links.profile을 생성
-        entityModels.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
-        return ResponseEntity.ok(entityModels);
+    /**
+     * 요청 수 제한(app.rate-limit.limits.create, query)을 넘으면 429와 Retry-After(초)로 응답한다.
+     * RateLimitInterceptor가 본문을 읽기 전에 거절하므로 요청 본문은 검증하지 않는다.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity rateLimitExceeded(RateLimitExceededException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject("tooManyRequests", "Rate limit '" + e.getLimit() + "' exceeded");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(errorsModel(errors));
+    }
+
+    /**
+     * Keyset(seek) 페이징 조회. cursor 파라미터가 있으면(빈 값이면 첫 페이지) 이 메소드가 처리한다.
+     * OFFSET 스캔과 전체 count 쿼리를 하지 않으므로 응답에 page 정보는 없고, _links.next / _links.prev 로만 이동한다.
+     * beginEventDateTime이 없는 이벤트는 정렬키가 없으므로 이 모드에서는 조회되지 않는다.
+     * 검색 조건(EventSearch)은 keyset 조회에 적용하지 않으므로, 같이 보내면 조건 없는 목록을 주지 않고 400으로 응답한다.
+     */
+    @RateLimited(EventController.QUERY_LIMIT)
+    @GetMapping(params = "cursor")
+    public ResponseEntity queryEventsByCursor(@RequestParam String cursor, @RequestParam(defaultValue = "20") int size,
+                                              EventSearch search, WebRequest webRequest) {
+        if (search.hasCriteria()) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+            errors.reject("wrongValue", "Search parameters cannot be combined with cursor");
+            return badRequest(errors);
+        }
+        if (isNotModified(webRequest)) {
+            return null;    //304 Not Modified
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        EventCursor eventCursor = null;
+        if (!cursor.isEmpty()) {
+            try {
+                eventCursor = EventCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+                errors.reject("wrongValue", e.getMessage());
+                return badRequest(errors);
+            }
+        }
+
+        //다음 페이지 존재 여부를 알기 위해 한건 더 조회한다.
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Event> events;
+        if (eventCursor == null) {
+            events = this.eventRepository.findKeysetFirst(limit);
+        } else if (eventCursor.isBackward()) {
+            events = this.eventRepository.findKeysetBefore(eventCursor.getBeginEventDateTime(), eventCursor.getId(), limit);
+        } else {
+            events = this.eventRepository.findKeysetAfter(eventCursor.getBeginEventDateTime(), eventCursor.getId(), limit);
+        }
+
+        boolean hasMore = events.size() > pageSize;
+        List<Event> content = new ArrayList<>(events.subList(0, Math.min(events.size(), pageSize)));
+        boolean backward = eventCursor != null && eventCursor.isBackward();
+        if (backward) {
+            Collections.reverse(content);   //역방향 조회는 내림차순이므로 다시 오름차순으로 뒤집는다.
+        }
+
+        EventLinks links = EventLinks.current();
+        List<EventModel> eventModels = new ArrayList<>(content.size());
+        for (Event e : content) {
+            eventModels.add(EventModel.of(e, links));
+        }
+
+        CollectionModel<EventModel> collectionModel = CollectionModel.of(eventModels);
+        collectionModel.add(links.cursor(cursor, pageSize, IanaLinkRelations.SELF));
+        if (!content.isEmpty()) {
+            boolean hasNext = backward || hasMore;
+            boolean hasPrev = backward ? hasMore : eventCursor != null;
+            if (hasNext) {
+                collectionModel.add(links.cursor(EventCursor.after(content.get(content.size() - 1)).encode(), pageSize, IanaLinkRelations.NEXT));
+            }
+            if (hasPrev) {
+                collectionModel.add(links.cursor(EventCursor.before(content.get(0)).encode(), pageSize, IanaLinkRelations.PREV));
+            }
+        }
+        collectionModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * 목록이 바뀌지 않았으면 304를 응답하도록 설정한다. 목록 조회와 HAL 조립을 하기 전에 확인한다.
+     */
+    private boolean isNotModified(WebRequest webRequest) {
+        EventsStamp stamp = this.eventChangeStamp.find();
+        return webRequest.checkNotModified(EventETags.of(stamp), EventETags.lastModified(stamp.getLastModifiedDateTime()));
     }
 
 
     private ResponseEntity badRequest(Errors errors) {
+        this.eventMetrics.validationFailed(errors);
+        return ResponseEntity.badRequest().body(errorsModel(errors));
+    }
+
+    private ResponseEntity conflict() {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("conflict", "Event has been modified by another request");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorsModel(errors));
+    }
+
+    private ResponseEntity preconditionFailed() {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("preconditionFailed", "Event does not match If-Match");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorsModel(errors));
+    }
+
+    private EntityModel<Errors> errorsModel(Errors errors) {
         EntityModel<Errors> entityModel = EntityModel.of(errors);
-        entityModel.add(linkTo(methodOn(IndexController.class).index()).withRel("index"));  //error를 그냥 던지는것이 아니고 index 링크 추가한다.
-        return ResponseEntity.badRequest().body(entityModel);
+        entityModel.add(EventLinks.current().index());  //error를 그냥 던지는것이 아니고 index 링크 추가한다.
+        return entityModel;
     }
 }
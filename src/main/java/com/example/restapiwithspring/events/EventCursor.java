@@ -0,0 +1,58 @@
+package com.example.restapiwithspring.events;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset(seek) 페이징에 사용하는 커서.
+ * (beginEventDateTime, id) 정렬키와 이동방향을 담으며, 클라이언트에게는 불투명한(opaque) 토큰으로만 노출한다.
+ */
+@Getter
+public class EventCursor {
+
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime beginEventDateTime;
+    private final Integer id;
+    private final boolean backward;
+
+    private EventCursor(LocalDateTime beginEventDateTime, Integer id, boolean backward) {
+        this.beginEventDateTime = beginEventDateTime;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    public static EventCursor after(Event event) {
+        return new EventCursor(event.getBeginEventDateTime(), event.getId(), false);
+    }
+
+    public static EventCursor before(Event event) {
+        return new EventCursor(event.getBeginEventDateTime(), event.getId(), true);
+    }
+
+    public String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + SEPARATOR + beginEventDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 토큰 형식이 잘못된 경우
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new IllegalArgumentException("cursor is wrong value");
+            }
+            return new EventCursor(LocalDateTime.parse(parts[1]), Integer.valueOf(parts[2]), BACKWARD.equals(parts[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("cursor is wrong value", e);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EventDto 검증. Bean Validation(@NotEmpty, @NotNull, @Min)과 EventValidator의 규칙을 한번에 검사한다.
+ * 제약조건을 리플렉션으로 찾아 검사하는 대신 필드별로 직접 비교하므로, 통과하는 경우에는 객체를 만들지 않는다.
+ *
+ * 에러는 SpringValidatorAdapter가 만드는 것과 같다. (field, objectName, codes, arguments, defaultMessage, rejectedValue)
+ * 메시지는 Bean Validation이 요청 로케일로 만든 것을 제약조건, 로케일별로 캐시해서 쓴다.
+ * 에러 순서는 선언 순서다. (Bean Validation은 순서를 보장하지 않는다)
+ * EventDto의 제약조건이 여기서 검사하는 것과 다르면 기동시 실패한다. (selfCheck)
+ */
+@Component
+public class EventDtoValidator {
+
+    private final Validator validator;
+    private final EventValidator eventValidator;
+    private final Arguments arguments;
+    private final Map<String, Constraint> constraints = new HashMap<>();
+
+    private final Constraint nameNotEmpty;
+    private final Constraint descriptionNotNull;
+    private final Constraint beginEnrollmentDateTimeNotNull;
+    private final Constraint closeEnrollmentDateTimeNotNull;
+    private final Constraint beginEventDateTimeNotNull;
+    private final Constraint endEventDateTimeNotNull;
+    private final Constraint basePriceMin;
+    private final Constraint maxPriceMin;
+    private final Constraint limitOfEnrollmentMin;
+
+    public EventDtoValidator(Validator validator, EventValidator eventValidator) {
+        this.validator = validator;
+        this.eventValidator = eventValidator;
+        this.arguments = new Arguments(validator);
+
+        this.nameNotEmpty = constraint("name", NotEmpty.class);
+        this.descriptionNotNull = constraint("description", NotNull.class);
+        this.beginEnrollmentDateTimeNotNull = constraint("beginEnrollmentDateTime", NotNull.class);
+        this.closeEnrollmentDateTimeNotNull = constraint("closeEnrollmentDateTime", NotNull.class);
+        this.beginEventDateTimeNotNull = constraint("beginEventDateTime", NotNull.class);
+        this.endEventDateTimeNotNull = constraint("endEventDateTime", NotNull.class);
+        this.basePriceMin = constraint("basePrice", Min.class);
+        this.maxPriceMin = constraint("maxPrice", Min.class);
+        this.limitOfEnrollmentMin = constraint("limitOfEnrollment", Min.class);
+        selfCheck();
+    }
+
+    /**
+     * 제약조건을 검사하고, 모두 통과하면 EventValidator의 규칙을 검사한다.
+     */
+    public void validate(EventDto eventDto, Errors errors) {
+        boolean valid = notEmpty(this.nameNotEmpty, eventDto.getName(), errors);
+        valid &= notNull(this.descriptionNotNull, eventDto.getDescription(), errors);
+        valid &= notNull(this.beginEnrollmentDateTimeNotNull, eventDto.getBeginEnrollmentDateTime(), errors);
+        valid &= notNull(this.closeEnrollmentDateTimeNotNull, eventDto.getCloseEnrollmentDateTime(), errors);
+        valid &= notNull(this.beginEventDateTimeNotNull, eventDto.getBeginEventDateTime(), errors);
+        valid &= notNull(this.endEventDateTimeNotNull, eventDto.getEndEventDateTime(), errors);
+        valid &= min(this.basePriceMin, eventDto.getBasePrice(), errors);
+        valid &= min(this.maxPriceMin, eventDto.getMaxPrice(), errors);
+        valid &= min(this.limitOfEnrollmentMin, eventDto.getLimitOfEnrollment(), errors);
+
+        if (valid) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+    }
+
+    private boolean notEmpty(Constraint constraint, String value, Errors errors) {
+        if (value != null && !value.isEmpty()) {
+            return true;
+        }
+        reject(constraint, value, errors);
+        return false;
+    }
+
+    private boolean notNull(Constraint constraint, Object value, Errors errors) {
+        if (value != null) {
+            return true;
+        }
+        reject(constraint, null, errors);
+        return false;
+    }
+
+    private boolean min(Constraint constraint, int value, Errors errors) {
+        if (value >= constraint.min) {
+            return true;
+        }
+        reject(constraint, value, errors);
+        return false;
+    }
+
+    /**
+     * SpringValidatorAdapter.processConstraintViolations 와 같은 에러를 더한다.
+     */
+    private void reject(Constraint constraint, Object rejectedValue, Errors errors) {
+        FieldError existing = errors.getFieldError(constraint.field);
+        if (existing != null && existing.isBindingFailure()) {
+            return;
+        }
+
+        Object[] errorArgs = this.arguments.of(errors.getObjectName(), constraint.field, constraint.descriptor);
+        String message = constraint.message(rejectedValue);
+        if (errors instanceof BindingResult) {
+            BindingResult bindingResult = (BindingResult) errors;
+            String[] errorCodes = bindingResult.resolveMessageCodes(constraint.code, constraint.field);
+            bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + constraint.field,
+                    rejectedValue, false, errorCodes, errorArgs, message));
+        } else {
+            errors.rejectValue(constraint.field, constraint.code, errorArgs, message);
+        }
+    }
+
+    private Constraint constraint(String field, Class<? extends Annotation> annotationType) {
+        PropertyDescriptor property = this.validator.getConstraintsForClass(EventDto.class).getConstraintsForProperty(field);
+        if (property != null) {
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                if (descriptor.getAnnotation().annotationType() == annotationType) {
+                    Constraint constraint = new Constraint(field, descriptor);
+                    this.constraints.put(constraint.key(), constraint);
+                    return constraint;
+                }
+            }
+        }
+        throw new IllegalStateException("EventDto." + field + " has no @" + annotationType.getSimpleName());
+    }
+
+    /**
+     * EventDto의 제약조건이 모두 여기서 검사하는 것인지 확인한다.
+     * @throws IllegalStateException EventDto에 검사하지 않는 제약조건이 있는 경우 (@Size 등을 추가했다면 validate()에도 추가한다)
+     */
+    void selfCheck() {
+        List<String> unchecked = new ArrayList<>();
+        for (PropertyDescriptor property : this.validator.getConstraintsForClass(EventDto.class).getConstrainedProperties()) {
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                String key = key(property.getPropertyName(), descriptor);
+                if (!this.constraints.containsKey(key)) {
+                    unchecked.add(key);
+                }
+            }
+        }
+        if (!this.validator.getConstraintsForClass(EventDto.class).getConstraintDescriptors().isEmpty()) {
+            unchecked.add("class-level constraints");
+        }
+        if (!unchecked.isEmpty()) {
+            throw new IllegalStateException("EventDtoValidator does not check " + unchecked);
+        }
+    }
+
+    private static String key(String field, ConstraintDescriptor<?> descriptor) {
+        return field + "@" + descriptor.getAnnotation().annotationType().getSimpleName();
+    }
+
+    /**
+     * 필드 하나의 제약조건 하나. 에러 코드는 애노테이션 이름(NotNull 등)이다.
+     */
+    private final class Constraint {
+
+        private final String field;
+        private final ConstraintDescriptor<?> descriptor;
+        private final String code;
+        private final long min;
+        //메시지에 ${validatedValue} 같은 표현식이 있으면 값마다 달라지므로 캐시하지 않는다.
+        private final boolean cacheable;
+        private final Map<Locale, String> messages = new ConcurrentHashMap<>();
+
+        private Constraint(String field, ConstraintDescriptor<?> descriptor) {
+            this.field = field;
+            this.descriptor = descriptor;
+            this.code = descriptor.getAnnotation().annotationType().getSimpleName();
+            Object value = descriptor.getAttributes().get("value");
+            this.min = value instanceof Long ? (Long) value : 0;
+            this.cacheable = !descriptor.getMessageTemplate().contains("${");
+        }
+
+        private String key() {
+            return EventDtoValidator.key(this.field, this.descriptor);
+        }
+
+        /**
+         * Bean Validation에 같은 값을 검사시켜서 메시지를 얻는다. (로케일은 LocaleContextHolder)
+         */
+        private String message(Object rejectedValue) {
+            if (!this.cacheable) {
+                return interpolate(rejectedValue);
+            }
+            return this.messages.computeIfAbsent(LocaleContextHolder.getLocale(), locale -> interpolate(rejectedValue));
+        }
+
+        private String interpolate(Object rejectedValue) {
+            for (ConstraintViolation<EventDto> violation : validator.validateValue(EventDto.class, this.field, rejectedValue)) {
+                if (violation.getConstraintDescriptor().getAnnotation().annotationType() == this.descriptor.getAnnotation().annotationType()) {
+                    return violation.getMessage();
+                }
+            }
+            return this.descriptor.getMessageTemplate();
+        }
+    }
+
+    /**
+     * SpringValidatorAdapter가 에러 인자(필드 이름, 애노테이션 속성)를 만드는 방법을 그대로 쓴다.
+     */
+    private static final class Arguments extends SpringValidatorAdapter {
+
+        private Arguments(Validator validator) {
+            super(validator);
+        }
+
+        private Object[] of(String objectName, String field, ConstraintDescriptor<?> descriptor) {
+            return getArgumentsForConstraint(objectName, field, descriptor);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.HalCborConfiguration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 응답 본문을 만들지 않고 버전 정보만으로 강한(strong) ETag와 Last-Modified 값을 계산한다.
+ * 같은 버전이라도 HAL_JSON과 CBOR 응답은 바이트가 다르므로 CBOR이면 ETag 뒤에 -cbor 를 붙인다.
+ */
+final class EventETags {
+
+    private static final String CBOR_SUFFIX = "-cbor";
+
+    private EventETags() {
+    }
+
+    static String of(Event event) {
+        return of(event, representation());
+    }
+
+    static String of(EventsStamp stamp) {
+        return "\"events-" + stamp.getVersion() + representation() + "\"";
+    }
+
+    /**
+     * If-Match 비교용. 표현에 상관없이 같은 버전이면 맞는 것으로 본다.
+     */
+    static List<String> allOf(Event event) {
+        return List.of(of(event, ""), of(event, CBOR_SUFFIX));
+    }
+
+    private static String of(Event event, String representation) {
+        return "\"event-" + event.getId() + "-" + event.getVersion() + representation + "\"";
+    }
+
+    /**
+     * 현재 요청의 Accept로 응답할 표현을 고른다. (@RequestMapping의 produces 순서대로 HAL_JSON이 먼저)
+     */
+    private static String representation() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String accept = attributes == null ? null : attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaTypes.HAL_JSON)) {
+                return "";
+            }
+            if (mediaType.isCompatibleWith(HalCborConfiguration.HAL_CBOR) || mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR_SUFFIX;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * @return epoch millis, 값이 없으면 -1 (Last-Modified 헤더를 쓰지 않음)
+     */
+    static long lastModified(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
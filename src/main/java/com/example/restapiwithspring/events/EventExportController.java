@@ -0,0 +1,145 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 전체 이벤트 내보내기. 페이지(Page, PagedModel)를 만들지 않고 DB 커서에서 읽는 대로 응답에 바로 쓰므로
+ * 이벤트 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Controller
+@RequestMapping("/api/events/export")
+public class EventExportController {
+
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final EntityManager entityManager;
+
+    public EventExportController(EventRepository eventRepository, ObjectMapper objectMapper, EntityManager entityManager) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.eventWriter = objectMapper.writerFor(Event.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);   //건마다 flush하지 않는다.
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 기본은 NDJSON(한줄에 이벤트 하나)이고, Accept 헤더로 HAL_JSON을 요청하면 _embedded.eventList 형식으로 쓴다.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaTypes.HAL_JSON_VALUE})
+    @Transactional(readOnly = true)
+    public void exportEvents(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             HttpServletResponse response) throws IOException {
+        boolean hal = isHalRequested(accept);
+        response.setContentType(hal ? MediaTypes.HAL_JSON_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (Stream<Event> events = this.eventRepository.streamAll();
+             JsonGenerator generator = this.objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            if (hal) {
+                writeHal(events, generator);
+            } else {
+                writeNdjson(events, generator);
+            }
+        }
+    }
+
+    private void writeNdjson(Stream<Event> events, JsonGenerator generator) {
+        generator.setRootValueSeparator(null);
+        events.forEach(event -> {
+            try {
+                this.eventWriter.writeValue(generator, event);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new EventExportException(e);
+            }
+            this.entityManager.detach(event);   //영속성 컨텍스트에 쌓이지 않도록 쓰고 나면 바로 분리한다.
+        });
+    }
+
+    private void writeHal(Stream<Event> events, JsonGenerator generator) throws IOException {
+        EventLinks links = EventLinks.current();
+        SerializerProvider provider = this.objectMapper.getSerializerProviderInstance();
+        JsonSerializer<Object> eventSerializer = provider.findValueSerializer(Event.class).unwrappingSerializer(NameTransformer.NOP);
+
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("_embedded");
+        generator.writeArrayFieldStart("eventList");
+        events.forEach(event -> {
+            try {
+                generator.writeStartObject();
+                eventSerializer.serialize(event, generator, provider);
+                writeSelfLink(generator, links.eventHref(event.getId()));
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new EventExportException(e);
+            }
+            this.entityManager.detach(event);
+        });
+        generator.writeEndArray();
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("_links");
+        generator.writeObjectFieldStart("self");
+        generator.writeStringField("href", links.eventsHref() + "/export");
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("profile");
+        generator.writeStringField("href", "/docs/index.html#resources-events-export");
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeSelfLink(JsonGenerator generator, String href) throws IOException {
+        generator.writeObjectFieldStart("_links");
+        generator.writeObjectFieldStart("self");
+        generator.writeStringField("href", href);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private boolean isHalRequested(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON) && !mediaType.isWildcardType()) {
+                return false;
+            }
+            if (MediaTypes.HAL_JSON.isCompatibleWith(mediaType) && !mediaType.isWildcardType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 스트림 중간에 응답 쓰기가 실패한 경우 (클라이언트 연결 끊김 등)
+     */
+    static class EventExportException extends RuntimeException {
+        EventExportException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.restapiwithspring.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 노드(인스턴스)의 이벤트 캐시 무효화.
+ * 이벤트를 저장한 노드는 자기 캐시를 바로 비우고(EventRepository의 @CacheEvict, Hibernate 2차 캐시), 바뀐 이벤트 id를
+ * event_invalidation 테이블에 넣는다. 다른 노드는 poll-interval 마다 새 행을 id 순서로 batch-size 건씩 읽어서,
+ * 묶음의 이벤트를 Hibernate 2차 캐시와 events 캐시에서 지우고 목록 캐시(eventPages, eventResponses, 쿼리 캐시)는 묶음마다 한번 비운다.
+ *
+ * 모든 노드가 이미 쓰는 주 DB로 주고받으므로 따로 메시지 브로커나 DB 전용 커넥션(LISTEN)이 필요 없다.
+ * 트랜잭션 안에서 publish하면 알림은 저장과 같이 커밋된다. 먼저 id를 받고 늦게 커밋된 행은 빈틈으로 남겨두고
+ * gap-timeout 동안 다시 읽으며, 그 뒤에는 롤백된 것으로 보고 건너뛴다.
+ * 다른 노드는 최대 poll-interval 동안 이전 값을 읽을 수 있다. 보낸/적용한 알림 수는 events.invalidations{direction} 로 확인한다.
+ */
+@Component
+public class EventInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(EventInvalidationBus.class);
+
+    private static final String[] LIST_CACHE_NAMES = {"eventPages", EventResponseCache.CACHE_NAME};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final String origin = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter applied;
+
+    //이 id까지는 모두 적용했다.
+    private long watermark;
+    //watermark 뒤에서 이미 적용한 id. 있으면 그 앞에 아직 커밋되지 않은(또는 롤백된) 행이 있다.
+    private final NavigableSet<Long> appliedAfterGap = new TreeSet<>();
+    private long gapSince;
+
+    public EventInvalidationBus(JdbcTemplate jdbcTemplate, CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.events.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.events.invalidation.batch-size:1000}") int batchSize,
+                                @Value("${app.events.invalidation.gap-timeout:10s}") Duration gapTimeout,
+                                @Value("${app.events.invalidation.retention:1h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.published = invalidations(meterRegistry, "published");
+        this.applied = invalidations(meterRegistry, "applied");
+
+        //캐시가 비어 있는 채로 시작하므로 이전 알림은 읽지 않는다.
+        if (enabled) {
+            Long max = jdbcTemplate.queryForObject("select max(id) from event_invalidation", Long.class);
+            this.watermark = max == null ? 0 : max;
+        }
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("events.invalidations")
+                .description("Event cache invalidations sent to or applied from other nodes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 다른 노드에 이 이벤트들이 바뀌었다고 알린다. 진행중인 트랜잭션이 있으면 같이 커밋된다.
+     * 알림을 넣지 못해도 저장은 그대로 두고 로그만 남긴다. (다른 노드는 캐시가 만료될 때까지 이전 값을 읽는다)
+     */
+    public void publish(Collection<Integer> eventIds) {
+        if (!this.enabled || eventIds.isEmpty()) {
+            return;
+        }
+        try {
+            this.jdbcTemplate.batchUpdate("insert into event_invalidation (event_id, origin) values (?, ?)",
+                    eventIds.stream().map(id -> new Object[]{id, this.origin}).collect(Collectors.toList()));
+            this.published.increment(eventIds.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish invalidation of events {}", eventIds, e);
+        }
+    }
+
+    /**
+     * 모든 이벤트가 바뀌었다고 알린다. (bulk update처럼 바뀐 id를 모르는 경우)
+     */
+    public void publishAll() {
+        if (!this.enabled) {
+            return;
+        }
+        try {
+            this.jdbcTemplate.update("insert into event_invalidation (event_id, origin) values (null, ?)", this.origin);
+            this.published.increment();
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish invalidation of all events", e);
+        }
+    }
+
+    /**
+     * 다른 노드가 보낸 새 알림을 읽어서 적용한다.
+     * @return 적용한 알림 수
+     */
+    public synchronized int poll() {
+        if (!this.enabled) {
+            return 0;
+        }
+        Batch batch = new Batch();
+        this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select id, event_id, origin from event_invalidation where id > ? order by id");
+            statement.setMaxRows(this.batchSize);
+            statement.setLong(1, this.watermark);
+            return statement;
+        }, batch);
+
+        if (batch.all || !batch.eventIds.isEmpty()) {
+            apply(batch);
+        }
+        advanceWatermark();
+        return batch.count;
+    }
+
+    /**
+     * retention 보다 오래된 알림을 지운다. 모든 노드에서 실행해도 된다.
+     */
+    public int deleteExpired() {
+        if (!this.enabled) {
+            return 0;
+        }
+        return this.jdbcTemplate.update("delete from event_invalidation where created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(this.retention)));
+    }
+
+    /**
+     * 2차 캐시를 먼저 비워야 events 캐시를 다시 채울 때 이전 엔티티를 읽지 않는다.
+     */
+    private void apply(Batch batch) {
+        javax.persistence.Cache secondLevelCache = this.entityManagerFactory.getCache();
+        Cache events = this.cacheManager.getCache("events");
+        if (batch.all) {
+            secondLevelCache.evict(Event.class);
+            if (events != null) {
+                events.clear();
+            }
+        } else {
+            for (Integer eventId : batch.eventIds) {
+                secondLevelCache.evict(Event.class, eventId);
+                if (events != null) {
+                    events.evict(eventId);
+                }
+            }
+        }
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        for (String cacheName : LIST_CACHE_NAMES) {
+            Cache cache = this.cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        this.applied.increment(batch.count);
+        log.debug("Applied {} event invalidations : {}", batch.count, batch.all ? "all" : batch.eventIds);
+    }
+
+    /**
+     * 빈틈 없이 적용한 데까지 watermark를 올린다. 빈틈이 gap-timeout 넘게 채워지지 않으면 건너뛴다.
+     */
+    private void advanceWatermark() {
+        while (this.appliedAfterGap.remove(this.watermark + 1)) {
+            this.watermark++;
+        }
+        if (this.appliedAfterGap.isEmpty()) {
+            this.gapSince = 0;
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (this.gapSince == 0) {
+            this.gapSince = now;
+        } else if (now - this.gapSince > this.gapTimeoutNanos) {
+            log.debug("Skipping event invalidations {} to {}", this.watermark + 1, this.appliedAfterGap.first() - 1);
+            this.watermark = this.appliedAfterGap.first() - 1;
+            this.gapSince = 0;
+            advanceWatermark();
+        }
+    }
+
+    /**
+     * 한번 읽은 알림 묶음. 이미 적용한 행과 이 노드가 보낸 행은 이벤트 id를 모으지 않는다.
+     */
+    private final class Batch implements RowCallbackHandler {
+
+        private final Set<Integer> eventIds = new HashSet<>();
+        private boolean all;
+        private int count;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (!appliedAfterGap.add(id) || origin.equals(rs.getString("origin"))) {
+                return;
+            }
+            Integer eventId = rs.getObject("event_id", Integer.class);
+            if (eventId == null) {
+                this.all = true;
+            } else {
+                this.eventIds.add(eventId);
+            }
+            this.count++;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * app.events.invalidation.poll-interval 마다 다른 노드의 캐시 무효화 알림을 적용하고, cleanup-interval 마다 오래된 알림을 지운다.
+ * app.events.invalidation.enabled=false 이면 실행하지 않는다. (노드가 하나인 경우)
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class EventInvalidationScheduler {
+
+    private final EventInvalidationBus eventInvalidationBus;
+
+    public EventInvalidationScheduler(EventInvalidationBus eventInvalidationBus) {
+        this.eventInvalidationBus = eventInvalidationBus;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.invalidation.poll-interval:PT1S}")
+    public void poll() {
+        this.eventInvalidationBus.poll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.invalidation.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        this.eventInvalidationBus.deleteExpired();
+    }
+}
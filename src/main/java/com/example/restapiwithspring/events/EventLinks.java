@@ -0,0 +1,94 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.index.IndexController;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * 이벤트 API 링크. linkTo(...)는 호출할 때마다 컨트롤러 매핑 조회(리플렉션)와 현재 요청 URI 계산을 하므로,
+ * 기준 주소(/api/events, /api)는 요청당 한번만 계산해서 요청 속성에 보관하고 링크는 문자열을 이어서 만든다.
+ * 기준 주소가 요청의 호스트/포트(X-Forwarded-*)에 따라 달라지므로 애플리케이션 단위로는 캐시하지 않는다.
+ * 만들어지는 링크는 linkTo(EventController.class).slash(id) 등과 같다.
+ */
+public final class EventLinks {
+
+    private static final String ATTRIBUTE = EventLinks.class.getName();
+
+    private final String eventsHref;
+    private final String indexHref;
+
+    private EventLinks() {
+        this.eventsHref = linkTo(EventController.class).toUri().toString();
+        this.indexHref = linkTo(IndexController.class).toUri().toString() + IndexController.PATH;
+    }
+
+    /**
+     * 현재 요청의 링크. 요청 밖(벤치마크 등)에서 호출하면 매번 새로 계산한다.
+     */
+    public static EventLinks current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return new EventLinks();
+        }
+        EventLinks eventLinks = (EventLinks) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (eventLinks == null) {
+            eventLinks = new EventLinks();
+            requestAttributes.setAttribute(ATTRIBUTE, eventLinks, RequestAttributes.SCOPE_REQUEST);
+        }
+        return eventLinks;
+    }
+
+    public String eventsHref() {
+        return this.eventsHref;
+    }
+
+    public String eventHref(Integer id) {
+        return this.eventsHref + "/" + id;
+    }
+
+    public URI eventUri(Integer id) {
+        return URI.create(eventHref(id));
+    }
+
+    public Link events(String rel) {
+        return Link.of(this.eventsHref, rel);
+    }
+
+    public Link event(Integer id, LinkRelation rel) {
+        return Link.of(eventHref(id), rel);
+    }
+
+    public Link event(Integer id, String rel) {
+        return Link.of(eventHref(id), rel);
+    }
+
+    public URI submissionUri(String ticket) {
+        return URI.create(this.eventsHref + "/submissions/" + ticket);
+    }
+
+    public Link submission(String ticket, LinkRelation rel) {
+        return Link.of(this.eventsHref + "/submissions/" + ticket, rel);
+    }
+
+    public Link index() {
+        return Link.of(this.indexHref, "index");
+    }
+
+    /**
+     * Keyset 페이징 링크 (/api/events?cursor=...&size=...)
+     */
+    public Link cursor(String cursor, int size, LinkRelation rel) {
+        String href = UriComponentsBuilder.fromUriString(this.eventsHref)
+                .queryParam("cursor", cursor)
+                .queryParam("size", size)
+                .toUriString();
+        return Link.of(href, rel);
+    }
+}
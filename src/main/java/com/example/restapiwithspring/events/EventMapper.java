@@ -0,0 +1,19 @@
+package com.example.restapiwithspring.events;
+
+/**
+ * EventDto <-> Event 변환기.
+ */
+public interface EventMapper {
+
+    Event toEvent(EventDto eventDto);
+
+    /**
+     * 수정용. EventDto의 값을 기존 Event에 덮어쓴다. (id, 상태, 버전 등 EventDto에 없는 필드는 그대로 둔다)
+     */
+    void updateEvent(EventDto eventDto, Event event);
+
+    /**
+     * 부분 수정(PATCH)용. 현재 Event 값으로 EventDto를 만든다.
+     */
+    EventDto toEventDto(Event event);
+}
@@ -0,0 +1,76 @@
+package com.example.restapiwithspring.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 이벤트 생성/수정/목록 조회의 단계별 소요시간(events.stage, 히스토그램)과 검증 실패 건수(events.validation.failures)를 기록한다.
+ * 요청마다 미터를 찾지 않도록 타이머는 미리 만들어 둔다.
+ */
+@Component
+public class EventMetrics {
+
+    public enum Operation { CREATE, UPDATE, QUERY }
+
+    public enum Stage { BINDING, VALIDATION, MAPPING, PERSISTENCE, ASSEMBLY }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Operation, Map<Stage, Timer>> timers = new EnumMap<>(Operation.class);
+    private final ConcurrentMap<String, Counter> validationFailures = new ConcurrentHashMap<>();
+
+    public EventMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Operation operation : Operation.values()) {
+            Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                stageTimers.put(stage, Timer.builder("events.stage")
+                        .description("Time spent in each stage of an event operation")
+                        .tag("operation", tagValue(operation))
+                        .tag("stage", tagValue(stage))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            this.timers.put(operation, stageTimers);
+        }
+    }
+
+    public Timer timer(Operation operation, Stage stage) {
+        return this.timers.get(operation).get(stage);
+    }
+
+    public <T> T record(Operation operation, Stage stage, Supplier<T> supplier) {
+        return timer(operation, stage).record(supplier);
+    }
+
+    public void record(Operation operation, Stage stage, Runnable runnable) {
+        timer(operation, stage).record(runnable);
+    }
+
+    /**
+     * 에러 코드(ErrorsSerializer의 code)별로 검증 실패 건수를 센다.
+     */
+    public void validationFailed(Errors errors) {
+        for (ObjectError error : errors.getAllErrors()) {
+            String code = error.getCode() == null ? "unknown" : error.getCode();
+            this.validationFailures.computeIfAbsent(code, c -> Counter.builder("events.validation.failures")
+                    .description("Event validation errors by error code")
+                    .tag("code", c)
+                    .register(this.meterRegistry))
+                    .increment();
+        }
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
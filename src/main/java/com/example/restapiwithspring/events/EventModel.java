@@ -0,0 +1,26 @@
+package com.example.restapiwithspring.events;
+
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+/**
+ * 목록 응답의 이벤트 하나. EntityModel<Event>와 같은 HAL 형식(이벤트 필드 + _links.self)으로 직렬화되지만
+ * Link 객체 없이 self 주소만 들고 있고, EventModelSerializer가 JsonGenerator에 바로 쓴다.
+ */
+@Getter
+@Relation(collectionRelation = "eventList")
+public class EventModel extends RepresentationModel<EventModel> {
+
+    private final Event event;
+    private final String selfHref;
+
+    public EventModel(Event event, String selfHref) {
+        this.event = event;
+        this.selfHref = selfHref;
+    }
+
+    public static EventModel of(Event event, EventLinks links) {
+        return new EventModel(event, links.eventHref(event.getId()));
+    }
+}
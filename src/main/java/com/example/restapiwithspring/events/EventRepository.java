@@ -1,8 +1,97 @@
 package com.example.restapiwithspring.events;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import javax.persistence.QueryHint;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
+
+    String REPLICA_READ = "T(com.example.restapiwithspring.commons.ReplicaRoutingDataSource).isReplicaRead()";
+
+    //단건 조회와 앞쪽 목록 페이지는 캐시를 거쳐서 조회하고, 저장하면 캐시를 비운다.
+    //복제본에서 읽은 결과는 뒤처져 있을 수 있으므로 캐시에 넣지 않는다. (ReplicaRoutingDataSource)
+    @Override
+    @Cacheable(cacheNames = "events", unless = "#result == null || " + REPLICA_READ)
+    Optional<Event> findById(Integer id);
+
+    //목록/count 쿼리는 Hibernate 쿼리 캐시에도 넣는다. (캐시되는 것은 id 목록이고, 엔티티는 2차 캐시에서 읽는다)
+    @Override
+    @Cacheable(cacheNames = "eventPages", condition = "#pageable.paged && #pageable.pageNumber < 3", unless = REPLICA_READ)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Page<Event> findAll(Pageable pageable);
+
+    //전체 내보내기용. JDBC 커서로 fetch size 만큼씩 읽어온다. 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    //한번 읽고 마는 전체 데이터로 2차 캐시를 채우지 않도록 캐시를 사용하지 않는다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAll();
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "events", key = "#entity.id"),
+            @CacheEvict(cacheNames = {"eventPages", EventResponseCache.CACHE_NAME}, allEntries = true)
+    })
+    <S extends Event> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "events", key = "#entity.id"),
+            @CacheEvict(cacheNames = {"eventPages", EventResponseCache.CACHE_NAME}, allEntries = true)
+    })
+    <S extends Event> S saveAndFlush(S entity);
+
+    //수정용 조회. 캐시(events)에 있는 분리된 엔티티가 아니라 영속성 컨텍스트가 관리하는 엔티티를 DB에서 읽는다.
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findForUpdateById(@Param("id") Integer id);
+
+    @Override
+    @CacheEvict(cacheNames = {"events", "eventPages", EventResponseCache.CACHE_NAME}, allEntries = true)
+    <S extends Event> List<S> saveAll(Iterable<S> entities);
+
+    //Keyset 페이징 : (beginEventDateTime, id) 인덱스를 타고 OFFSET 및 count 쿼리 없이 조회한다.
+    //직접 선언한 쿼리 메소드는 SimpleJpaRepository의 readOnly 트랜잭션을 물려받지 않으므로, 복제본에서 읽도록 따로 붙인다.
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select e from Event e where e.beginEventDateTime is not null" +
+            " order by e.beginEventDateTime asc, e.id asc")
+    List<Event> findKeysetFirst(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select e from Event e where e.beginEventDateTime > :beginEventDateTime" +
+            " or (e.beginEventDateTime = :beginEventDateTime and e.id > :id)" +
+            " order by e.beginEventDateTime asc, e.id asc")
+    List<Event> findKeysetAfter(@Param("beginEventDateTime") LocalDateTime beginEventDateTime, @Param("id") Integer id, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select e from Event e where e.beginEventDateTime < :beginEventDateTime" +
+            " or (e.beginEventDateTime = :beginEventDateTime and e.id < :id)" +
+            " order by e.beginEventDateTime desc, e.id desc")
+    List<Event> findKeysetBefore(@Param("beginEventDateTime") LocalDateTime beginEventDateTime, @Param("id") Integer id, Pageable pageable);
 
 }
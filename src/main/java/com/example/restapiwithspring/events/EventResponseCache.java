@@ -0,0 +1,51 @@
+package com.example.restapiwithspring.events;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 목록 조회 응답을 gzip으로 압축한 바이트로 보관하는 캐시(eventResponses). 항목 크기가 제각각이므로
+ * 다른 캐시(spring.cache.caffeine.spec, 항목 수 제한)와 달리 전체 바이트 수로 제한한다.
+ * 이벤트 저장시(EventRepository.save/saveAll) 목록 캐시와 같이 비워진다.
+ */
+@Component
+public class EventResponseCache implements CacheManagerCustomizer<CaffeineCacheManager> {
+
+    public static final String CACHE_NAME = "eventResponses";
+
+    private static final long MAXIMUM_WEIGHT = 32L * 1024 * 1024;
+
+    @Override
+    public void customize(CaffeineCacheManager cacheManager) {
+        cacheManager.registerCustomCache(CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(MAXIMUM_WEIGHT)
+                .weigher((key, value) -> ((Entry) value).getGzipBody().length + key.toString().length())
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * 압축한 응답 본문과 다시 보낼 응답 헤더(Content-Type, ETag, Last-Modified). 조건부 요청 확인용으로 ETag, Last-Modified를 따로 둔다.
+     */
+    @Getter
+    public static class Entry {
+        private final byte[] gzipBody;
+        private final Map<String, String> headers;
+        private final String eTag;
+        private final long lastModified;
+
+        public Entry(byte[] gzipBody, Map<String, String> headers, String eTag, long lastModified) {
+            this.gzipBody = gzipBody;
+            this.headers = headers;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.RateLimitInterceptor;
+import com.example.restapiwithspring.commons.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 목록 조회(GET /api/events) 응답을 gzip으로 압축해서 EventResponseCache에 보관하고, 같은 요청이 다시 오면
+ * 조회, HAL 조립, 직렬화, 압축을 모두 건너뛰고 보관한 바이트를 그대로 응답한다.
+ * 키는 요청 주소(링크에 호스트가 들어가므로 호스트 포함) + 정렬한 쿼리 파라미터(page, size, sort, 검색 조건) + Accept 이다.
+ * 캐시에서 응답하는 요청도 컨트롤러와 같은 요청 수 제한(query)으로 세고, 넘으면 컨트롤러로 넘겨서 429로 응답하게 한다.
+ * gzip을 받지 않는 클라이언트(gzip;q=0 포함), server.compression.min-response-size 보다 작은 응답, 복제본에서 읽은 응답은 캐시하지 않는다.
+ */
+@Component
+public class EventResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/api/events";
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final Cache cache;
+    private final long minResponseSize;
+    //app.rate-limit.enabled=false 이면 없다.
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public EventResponseCacheFilter(CacheManager cacheManager, ServerProperties serverProperties,
+                                    ObjectProvider<RateLimitInterceptor> rateLimitInterceptor) {
+        this.cache = cacheManager.getCache(EventResponseCache.CACHE_NAME);
+        this.minResponseSize = serverProperties.getCompression().getMinResponseSize().toBytes();
+        this.rateLimitInterceptor = rateLimitInterceptor.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return this.cache == null
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !(request.getContextPath() + PATH).equals(request.getRequestURI())
+                || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Accept-Encoding(RFC 7231 5.3.4)이 gzip을 q > 0 으로 받으면 true. gzip이 없으면 * 의 q를 따른다. gzip;q=0 은 거절이다.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        Double accepted = gzip != null ? gzip : any;
+        return accepted != null && accepted > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;   //읽을 수 없는 q는 받지 않는 것으로 본다.
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String key = cacheKey(request);
+        EventResponseCache.Entry entry = this.cache.get(key, EventResponseCache.Entry.class);
+        if (entry != null) {
+            if (this.rateLimitInterceptor == null || this.rateLimitInterceptor.tryAcquire(EventController.QUERY_LIMIT, request) == 0) {
+                writeCached(entry, request, response);
+            } else {
+                filterChain.doFilter(request, response);    //제한을 넘었다. 인터셉터가 다시 세지 않고 429로 응답한다.
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (responseWrapper.getStatus() != HttpServletResponse.SC_OK || responseWrapper.getContentSize() < this.minResponseSize
+                || responseWrapper.containsHeader(HttpHeaders.CONTENT_ENCODING) || ReplicaRoutingDataSource.isReplicaRead()) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, responseWrapper.getContentType());
+        for (String name : CACHED_HEADERS) {
+            String value = responseWrapper.getHeader(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        }
+        entry = new EventResponseCache.Entry(gzip(responseWrapper.getContentAsByteArray()), headers.toSingleValueMap(),
+                headers.getETag(), headers.getLastModified());
+        this.cache.put(key, entry);
+
+        responseWrapper.resetBuffer();  //압축하지 않은 본문은 버리고 압축한 본문을 쓴다.
+        writeBody(entry, response);
+    }
+
+    private void writeCached(EventResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        entry.getHeaders().forEach(response::setHeader);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (new ServletWebRequest(request, response).checkNotModified(entry.getETag(), entry.getLastModified())) {
+            return;     //304 Not Modified
+        }
+        writeBody(entry, response);
+    }
+
+    private void writeBody(EventResponseCache.Entry entry, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(entry.getGzipBody().length);
+        response.getOutputStream().write(entry.getGzipBody());
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURL());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                key.append('&').append(name).append('=').append(value);
+            }
+        });
+        return key.append('|').append(request.getHeader(HttpHeaders.ACCEPT)).toString();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.restapiwithspring.events;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 목록 검색 조건. 값이 없는 조건은 적용하지 않는다.
+ * 날짜 범위는 from 이상, to 미만이다.
+ */
+@Data
+public class EventSearch {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private String location;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+
+    public boolean hasCriteria() {
+        return eventStatus != null || free != null || offline != null || location != null
+                || beginEventFrom != null || beginEventTo != null
+                || beginEnrollmentFrom != null || beginEnrollmentTo != null;
+    }
+}
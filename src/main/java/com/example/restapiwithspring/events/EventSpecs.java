@@ -0,0 +1,54 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 검색 조건(Specification) 모음. 각 조건은 값이 없으면 null을 반환하고, and()로 조합하면 무시된다.
+ * 조건 조합은 Event에 선언한 복합 인덱스 순서(eventStatus, free, offline, 날짜)를 따른다.
+ */
+public final class EventSpecs {
+
+    private EventSpecs() {
+    }
+
+    public static Specification<Event> of(EventSearch search) {
+        return Specification.where(eventStatus(search.getEventStatus()))
+                .and(free(search.getFree()))
+                .and(offline(search.getOffline()))
+                .and(location(search.getLocation()))
+                .and(between("beginEventDateTime", search.getBeginEventFrom(), search.getBeginEventTo()))
+                .and(between("beginEnrollmentDateTime", search.getBeginEnrollmentFrom(), search.getBeginEnrollmentTo()));
+    }
+
+    public static Specification<Event> eventStatus(EventStatus eventStatus) {
+        return eventStatus == null ? null : (root, query, cb) -> cb.equal(root.get("eventStatus"), eventStatus);
+    }
+
+    public static Specification<Event> free(Boolean free) {
+        return free == null ? null : (root, query, cb) -> cb.equal(root.get("free"), free);
+    }
+
+    public static Specification<Event> offline(Boolean offline) {
+        return offline == null ? null : (root, query, cb) -> cb.equal(root.get("offline"), offline);
+    }
+
+    public static Specification<Event> location(String location) {
+        return location == null ? null : (root, query, cb) -> cb.equal(root.get("location"), location);
+    }
+
+    /**
+     * from 이상, to 미만
+     */
+    public static Specification<Event> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        Specification<Event> spec = Specification.where(null);
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get(attribute), to));
+        }
+        return spec;
+    }
+}
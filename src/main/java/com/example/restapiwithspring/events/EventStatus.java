@@ -1,5 +1,9 @@
 package com.example.restapiwithspring.events;
 
+/**
+ * 이벤트 상태. PUBLISHED 이후의 상태는 EventStatusTransitions가 시각(신청 시작/마감, 이벤트 시작/종료)에 따라 바꾼다.
+ * 선언 순서가 진행 순서이다.
+ */
 public enum EventStatus {
-    DRAFT, PUBLISHED
+    DRAFT, PUBLISHED, BEGAN_ENROLLMENT, CLOSED_ENROLLMENT, STARTED, ENDED
 }
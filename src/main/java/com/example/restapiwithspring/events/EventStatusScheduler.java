@@ -0,0 +1,27 @@
+package com.example.restapiwithspring.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * app.events.status-transition.interval 마다 EventStatusTransitions를 실행한다.
+ * 모든 노드에서 실행해도 된다. (EventStatusTransitions 참고) app.events.status-transition.enabled=false 이면 실행하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.status-transition.enabled", havingValue = "true", matchIfMissing = true)
+public class EventStatusScheduler {
+
+    private final EventStatusTransitions eventStatusTransitions;
+
+    public EventStatusScheduler(EventStatusTransitions eventStatusTransitions) {
+        this.eventStatusTransitions = eventStatusTransitions;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.status-transition.interval:PT1M}")
+    public void transition() {
+        this.eventStatusTransitions.apply(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.restapiwithspring.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 시각에 따른 이벤트 상태 전환. 엔티티를 하나씩 읽지 않고 전환마다 bulk UPDATE 한번으로
+ * (eventStatus, 시각) 인덱스에 걸리는 행만 바꾼다.
+ *
+ * 늦은 전환(ENDED)부터 적용하므로 여러 단계가 지난 이벤트도 한번에 마지막 상태로 간다.
+ * WHERE에 이전 상태만 넣으므로 다시 실행해도 바뀌는 행이 없고(멱등), 여러 노드가 동시에 실행해도
+ * 먼저 바꾼 노드가 행 잠금을 풀면 나머지 노드의 UPDATE는 조건에 맞지 않아 건너뛴다. 따로 분산 잠금을 두지 않는다.
+ *
+ * 바뀐 이벤트의 version과 목록 변경 번호(EventChangeStamp)를 올려서 ETag가 바뀌게 한다. bulk UPDATE는 Hibernate가 Event 2차 캐시와
+ * 쿼리 캐시를 무효화하고, 스프링 캐시(events, eventPages, eventResponses)는 커밋한 뒤에 여기서 비운다.
+ * (커밋 전에 비우면 그 사이의 조회가 전환 전 행을 다시 캐시에 넣고, 이 노드는 자기가 보낸 무효화 알림을 건너뛰므로 만료될 때까지 남는다)
+ * 바뀐 id는 모르므로 다른 노드에는 모든 이벤트의 무효화를 알린다. (EventInvalidationBus, 전환과 같이 커밋된다)
+ */
+@Component
+public class EventStatusTransitions {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStatusTransitions.class);
+
+    enum Transition {
+        END("endEventDateTime", EventStatus.ENDED),
+        START("beginEventDateTime", EventStatus.STARTED),
+        CLOSE_ENROLLMENT("closeEnrollmentDateTime", EventStatus.CLOSED_ENROLLMENT),
+        BEGIN_ENROLLMENT("beginEnrollmentDateTime", EventStatus.BEGAN_ENROLLMENT);
+
+        private final EventStatus to;
+        private final Set<EventStatus> from;
+        private final String jpql;
+
+        Transition(String dateTimeField, EventStatus to) {
+            this.to = to;
+            this.from = EnumSet.range(EventStatus.PUBLISHED, to);
+            this.from.remove(to);
+            this.jpql = "update Event e set e.eventStatus = :to, e.version = e.version + 1, e.lastModifiedDateTime = :now" +
+                    " where e.eventStatus in :from and e." + dateTimeField + " <= :now";
+        }
+    }
+
+    private static final String[] CACHE_NAMES = {"events", "eventPages", EventResponseCache.CACHE_NAME};
+
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final EventInvalidationBus eventInvalidationBus;
+    private final EventChangeStamp eventChangeStamp;
+    private final Map<EventStatus, Counter> transitioned = new EnumMap<>(EventStatus.class);
+
+    public EventStatusTransitions(EntityManager entityManager, CacheManager cacheManager, EventInvalidationBus eventInvalidationBus,
+                                  EventChangeStamp eventChangeStamp, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.eventInvalidationBus = eventInvalidationBus;
+        this.eventChangeStamp = eventChangeStamp;
+        for (Transition transition : Transition.values()) {
+            this.transitioned.put(transition.to, Counter.builder("events.status.transitions")
+                    .description("Events moved to a status by the status transition job")
+                    .tag("status", transition.to.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * now 기준으로 지난 전환을 모두 적용하고, 바뀐 이벤트 수를 상태별로 돌려준다.
+     */
+    @Transactional
+    public Map<EventStatus, Integer> apply(LocalDateTime now) {
+        Map<EventStatus, Integer> updated = new EnumMap<>(EventStatus.class);
+        int total = 0;
+        for (Transition transition : Transition.values()) {
+            int count = this.entityManager.createQuery(transition.jpql)
+                    .setParameter("to", transition.to)
+                    .setParameter("from", transition.from)
+                    .setParameter("now", now)
+                    .executeUpdate();
+            updated.put(transition.to, count);
+            this.transitioned.get(transition.to).increment(count);
+            total += count;
+        }
+
+        if (total > 0) {
+            log.info("Event status transitions at {} : {}", now, updated);
+            this.eventChangeStamp.bump();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clearCaches();
+                }
+            });
+            this.eventInvalidationBus.publishAll();
+        }
+        return updated;
+    }
+
+    private void clearCaches() {
+        for (String cacheName : CACHE_NAMES) {
+            Cache cache = this.cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
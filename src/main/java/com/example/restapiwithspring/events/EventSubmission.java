@@ -0,0 +1,37 @@
+package com.example.restapiwithspring.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+/**
+ * 쓰기 지연(write-behind) 큐에 넣은 이벤트 생성 요청. ticket으로 처리 상태(/api/events/submissions/{ticket})를 조회한다.
+ * 상태는 요청 스레드와 EventWriteBehind의 writer 스레드가 같이 보므로 volatile로 둔다.
+ */
+@Getter
+public class EventSubmission {
+
+    public enum Status { PENDING, CREATED, FAILED }
+
+    private final String ticket;
+    private volatile Status status = Status.PENDING;
+    private volatile Integer eventId;
+
+    @JsonIgnore
+    private volatile Event event;
+
+    public EventSubmission(String ticket, Event event) {
+        this.ticket = ticket;
+        this.event = event;
+    }
+
+    void created() {
+        this.eventId = this.event.getId();
+        this.status = Status.CREATED;
+        this.event = null;  //저장이 끝나면 엔티티는 들고 있지 않는다.
+    }
+
+    void failed() {
+        this.status = Status.FAILED;
+        this.event = null;
+    }
+}
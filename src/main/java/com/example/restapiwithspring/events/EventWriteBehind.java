@@ -0,0 +1,96 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.commons.WriteBehindQueue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 이벤트 쓰기 지연(write-behind). 검증을 마친 Event를 큐에 넣고, writer 스레드가 batch-size 건씩
+ * saveAll(배치 하나가 트랜잭션 하나, JDBC batch insert)로 저장한다.
+ * 배치 저장이 실패하면(예: 컬럼 길이를 넘는 값) 한 건씩 다시 저장해서 실패한 요청만 FAILED로 남긴다.
+ * 큐가 가득 차면 submit이 null을 돌려주고 컨트롤러는 429로 응답한다. 메트릭 이름은 events.write.behind.* 이다.
+ *
+ * 처리 상태(submission)는 받은 노드의 메모리에만 submission-ttl 동안 둔다. 다른 노드에서 조회하면 404이므로
+ * 여러 노드를 두면 로드밸런서에서 /api/events/submissions/** 를 받은 노드로 보내야 한다. (sticky session)
+ */
+@Component
+public class EventWriteBehind extends WriteBehindQueue<EventSubmission> {
+
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBehind.class);
+
+    private final EventRepository eventRepository;
+    private final EventInvalidationBus eventInvalidationBus;
+    private final Cache<String, EventSubmission> submissions;
+
+    public EventWriteBehind(EventRepository eventRepository, EventInvalidationBus eventInvalidationBus, MeterRegistry meterRegistry,
+                            @Value("${app.events.write-behind.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.events.write-behind.batch-size:500}") int batchSize,
+                            @Value("${app.events.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                            @Value("${app.events.write-behind.submission-ttl:10m}") Duration submissionTtl) {
+        super("events.write.behind", meterRegistry, queueCapacity, batchSize, shutdownTimeout);
+        this.eventRepository = eventRepository;
+        this.eventInvalidationBus = eventInvalidationBus;
+        this.submissions = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(submissionTtl)
+                .build();
+    }
+
+    /**
+     * 큐에 넣는다. 큐가 가득 찼거나 종료중이면 null.
+     */
+    public EventSubmission submit(Event event) {
+        EventSubmission submission = new EventSubmission(UUID.randomUUID().toString(), event);
+        if (!offer(submission)) {
+            return null;
+        }
+        this.submissions.put(submission.getTicket(), submission);
+        return submission;
+    }
+
+    public EventSubmission getSubmission(String ticket) {
+        return this.submissions.getIfPresent(ticket);
+    }
+
+    @Override
+    protected void write(List<EventSubmission> batch) {
+        List<Event> saved;
+        try {
+            saved = this.eventRepository.saveAll(batch.stream().map(EventSubmission::getEvent).collect(Collectors.toList()));
+            batch.forEach(EventSubmission::created);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} events at once, retrying one by one", batch.size(), e);
+            saved = writeEach(batch);
+        }
+        this.eventInvalidationBus.publish(saved.stream().map(Event::getId).collect(Collectors.toList()));
+    }
+
+    private List<Event> writeEach(List<EventSubmission> batch) {
+        List<Event> saved = new ArrayList<>();
+        for (EventSubmission submission : batch) {
+            Event event = submission.getEvent();
+            //롤백된 배치에서 받은 id와 version은 지우고 새로 저장한다.
+            event.setId(null);
+            event.setVersion(null);
+            try {
+                saved.add(this.eventRepository.save(event));
+                submission.created();
+            } catch (RuntimeException e) {
+                log.error("Failed to write event submission {}", submission.getTicket(), e);
+                submission.failed();
+            }
+        }
+        return saved;
+    }
+}
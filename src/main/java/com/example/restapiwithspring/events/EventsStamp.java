@@ -0,0 +1,19 @@
+package com.example.restapiwithspring.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 목록 전체의 변경 여부를 나타내는 값. 목록 조회의 ETag / Last-Modified 계산에 사용한다.
+ * 이벤트가 추가되거나 수정되면 version이 항상 증가한다. (EventChangeStamp)
+ */
+@Getter
+@AllArgsConstructor
+public class EventsStamp {
+
+    private final long version;
+
+    private final LocalDateTime lastModifiedDateTime;
+}
@@ -1,19 +1,28 @@
 package com.example.restapiwithspring.index;
 
-import com.example.restapiwithspring.events.EventController;
+import com.example.restapiwithspring.events.EventLinks;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class IndexController {
 
+    public static final String PATH = "/api";
+
+    @GetMapping(PATH)
+    public RepresentationModel index(WebRequest webRequest) {
+        Link eventsLink = EventLinks.current().events("events");
+
+        //인덱스는 링크만 담고 있으므로 링크 주소로 ETag를 만들고, 바뀌지 않았으면 본문을 만들지 않고 304를 응답한다.
+        if (webRequest.checkNotModified("\"index-" + Integer.toHexString(eventsLink.getHref().hashCode()) + "\"")) {
+            return null;
+        }
 
-    @GetMapping("/api")
-    public RepresentationModel index() {
         var index = new RepresentationModel();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(eventsLink);
         return index;
     }
 }
@@ -0,0 +1,47 @@
+-- 이벤트/참가 신청 테이블. PostgreSQL과 H2(테스트)에서 같이 실행되도록 표준 SQL만 쓴다.
+-- 엔티티와 맞지 않으면 기동시 ddl-auto=validate 가 실패한다.
+
+-- 배치 insert를 위해 allocationSize(50)만큼씩 증가한다.
+create sequence event_seq start with 1 increment by 50;
+create sequence enrollment_seq start with 1 increment by 50;
+
+create table event (
+    id                          integer not null,
+    name                        varchar(255),
+    description                 varchar(255),
+    begin_enrollment_date_time  timestamp,
+    close_enrollment_date_time  timestamp,
+    begin_event_date_time       timestamp,
+    end_event_date_time         timestamp,
+    location                    varchar(255),
+    base_price                  integer not null,
+    max_price                   integer not null,
+    limit_of_enrollment         integer not null,
+    offline                     boolean not null,
+    free                        boolean not null,
+    event_status                varchar(255),
+    version                     integer,
+    last_modified_date_time     timestamp,
+    primary key (id)
+);
+
+-- keyset 페이징 (beginEventDateTime, id)
+create index idx_event_begin_event_date_time_id on event (begin_event_date_time, id);
+-- 목록 검색 조건
+create index idx_event_status_free_offline_begin_event on event (event_status, free, offline, begin_event_date_time);
+create index idx_event_status_begin_enrollment on event (event_status, begin_enrollment_date_time);
+create index idx_event_location_begin_event on event (location, begin_event_date_time);
+-- 상태 전환 (EventStatusTransitions)
+create index idx_event_status_close_enrollment on event (event_status, close_enrollment_date_time);
+create index idx_event_status_begin_event on event (event_status, begin_event_date_time);
+create index idx_event_status_end_event on event (event_status, end_event_date_time);
+
+create table enrollment (
+    id                  bigint not null,
+    event_id            integer,
+    attendee            varchar(255),
+    enrolled_date_time  timestamp,
+    primary key (id)
+);
+
+create index idx_enrollment_event_id on enrollment (event_id);
@@ -0,0 +1,14 @@
+-- 이벤트 캐시 무효화 알림. 이벤트를 저장한 노드가 한 행씩 넣고, 다른 노드는 id 순서로 읽어서 자기 캐시에서 지운다. (EventInvalidationBus)
+-- id가 빈틈 없이 증가해야 놓친 알림을 알 수 있으므로 시퀀스 캐시(increment by 50)를 쓰지 않는다.
+create table event_invalidation (
+    id          bigint generated by default as identity,
+    -- null 이면 모든 이벤트 (bulk update)
+    event_id    integer,
+    -- 알림을 보낸 노드. 자기가 보낸 알림은 건너뛴다.
+    origin      varchar(36) not null,
+    created_at  timestamp default current_timestamp not null,
+    primary key (id)
+);
+
+-- 오래된 알림 삭제
+create index idx_event_invalidation_created_at on event_invalidation (created_at);
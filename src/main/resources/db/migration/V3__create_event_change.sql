@@ -0,0 +1,11 @@
+-- 이벤트 목록 전체의 변경 번호 (EventChangeStamp). 이벤트를 저장하는 트랜잭션에서 같이 올린다.
+-- 목록 ETag를 계산할 때 event 테이블 전체를 읽지 않고 이 한 행만 읽는다.
+create table event_change (
+    id                       integer not null,
+    version                  bigint not null,
+    last_modified_date_time  timestamp,
+    primary key (id)
+);
+
+insert into event_change (id, version, last_modified_date_time)
+select 1, 0, max(last_modified_date_time) from event;
@@ -0,0 +1,5 @@
+-- 노드들이 나눠 가져간(lease) 참가 신청 자리 수 (EnrollmentSeats). limit_of_enrollment 를 넘지 않게 조건부 UPDATE로만 올린다.
+-- Event 엔티티에는 매핑하지 않으므로 이벤트 수정, version, 2차 캐시와 상관없다.
+alter table event add column reserved_seats integer default 0 not null;
+
+update event set reserved_seats = (select count(*) from enrollment where enrollment.event_id = event.id);
@@ -0,0 +1,80 @@
+package com.example.restapiwithspring.commons;
+
+import com.example.restapiwithspring.events.Event;
+import com.example.restapiwithspring.events.EventModel;
+import com.example.restapiwithspring.events.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+class EventSerializerTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("EventSerializer는 기본 직렬화(BeanSerializer)와 같은 JSON을 만든다")
+    public void sameAsBeanSerializer() throws Exception {
+        //스프링 부트 기본 설정과 같이 날짜를 문자열로 쓰고, @JsonComponent 없이 BeanSerializer를 쓰는 ObjectMapper
+        ObjectMapper beanObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        for (Event event : new Event[]{event(), new Event()}) {
+            assertThat(this.objectMapper.writeValueAsString(event)).isEqualTo(beanObjectMapper.writeValueAsString(event));
+        }
+    }
+
+    @Test
+    @DisplayName("EventModel은 EntityModel<Event>와 같은 HAL JSON을 만든다")
+    public void eventModelSameAsEntityModel() throws Exception {
+        ObjectMapper halObjectMapper = this.objectMapper.copy();
+        halObjectMapper.registerModule(new Jackson2HalModule());
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        Event event = event();
+        String href = "http://localhost:8080/api/events/" + event.getId();
+        String expected = halObjectMapper.writeValueAsString(EntityModel.of(event, Link.of(href)));
+
+        assertThat(halObjectMapper.writeValueAsString(new EventModel(event, href))).isEqualTo(expected);
+    }
+
+    private Event event() {
+        return Event.builder()
+                .id(7)
+                .name("spring \"rest\"")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 30))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0, 500_000_000))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0, 0))
+                .location("강남역")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .version(3)
+                .lastModifiedDateTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.restapiwithspring.commons;
+
+import com.example.restapiwithspring.events.EventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * H2 메모리 DB 두 개를 주 DB와 복제본으로 쓴다. 복제는 주 DB의 SCRIPT 를 복제본에 그대로 실행해서 흉내낸다.
+ * 복제 지연은 복제본의 replica_lag 테이블 값으로 정한다. (lag-query)
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.urls[0]=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=select seconds from replica_lag",
+        "app.datasource.replica.max-lag=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-test;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    public void setUp() {
+        this.replica.execute("drop all objects");
+        this.replicaLagMonitor.refresh();
+    }
+
+    @Test
+    @DisplayName("조회는 복제본에서, 쓰기는 주 DB에서 하고 쓴 클라이언트는 잠시 주 DB에서 읽는다")
+    public void routeReadsToReplica() throws Exception {
+        replicate(0);
+        assertThat(this.replicaLagMonitor.getHealthyReplicas()).containsExactly("replica-0");
+
+        Cookie readYourWrites = createEvent("replica-routing");
+        assertThat(readYourWrites).isNotNull();
+
+        //복제 전이라 복제본에는 없다.
+        assertThat(countEvents("replica-routing", null)).isZero();
+        assertThat(countEvents("replica-routing", readYourWrites)).isEqualTo(1);
+
+        replicate(0);
+        assertThat(countEvents("replica-routing", null)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("max-lag 보다 뒤처진 복제본은 쓰지 않는다")
+    public void skipLaggingReplica() throws Exception {
+        replicate(60);
+        assertThat(this.replicaLagMonitor.getHealthyReplicas()).isEmpty();
+
+        createEvent("replica-lagging");
+        assertThat(countEvents("replica-lagging", null)).isEqualTo(1);
+
+        this.replica.update("update replica_lag set seconds = 1");
+        this.replicaLagMonitor.refresh();
+        assertThat(countEvents("replica-lagging", null)).isZero();
+    }
+
+    @Test
+    @DisplayName("지연을 잴 수 없는 복제본은 쓰지 않는다")
+    public void skipUnknownReplica() throws Exception {
+        assertThat(this.replicaLagMonitor.getHealthyReplicas()).isEmpty();
+
+        createEvent("replica-unknown");
+        assertThat(countEvents("replica-unknown", null)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("복제본에서 읽은 값은 캐시에 넣지 않으므로 쓴 클라이언트는 주 DB의 값을 읽는다")
+    public void doNotCacheReplicaReads() throws Exception {
+        int id = this.objectMapper.readTree(this.mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDto("replica-cache", "before"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asInt();
+        replicate(0);
+        long total = totalEvents(null);
+
+        Cookie readYourWrites = this.mockMvc.perform(put("/api/events/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDto("replica-cache", "after"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        createEvent("replica-cache");
+        //다른 노드의 무효화 알림을 적용했을 때처럼 2차 캐시를 비운다.
+        this.entityManagerFactory.getCache().evictAll();
+
+        //복제 전이라 복제본에는 이전 값이 있다.
+        assertThat(eventName(id, null)).isEqualTo("before");
+        assertThat(totalEvents(null)).isEqualTo(total);
+
+        assertThat(eventName(id, readYourWrites)).isEqualTo("after");
+        assertThat(totalEvents(readYourWrites)).isEqualTo(total + 1);
+
+        replicate(0);
+        assertThat(eventName(id, null)).isEqualTo("after");
+        assertThat(totalEvents(null)).isEqualTo(total + 1);
+    }
+
+    /**
+     * 주 DB의 현재 상태를 복제본에 옮기고 복제 지연을 정한다.
+     */
+    private void replicate(int lagSeconds) {
+        List<String> script = new JdbcTemplate(this.primaryDataSource).queryForList("script", String.class);
+        this.replica.execute("drop all objects");
+        script.forEach(this.replica::execute);
+        this.replica.execute("create table replica_lag (seconds double)");
+        this.replica.update("insert into replica_lag values (?)", lagSeconds);
+        this.replicaLagMonitor.refresh();
+    }
+
+    private Cookie createEvent(String location) throws Exception {
+        return this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto(location, "replica"))))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    }
+
+    private EventDto eventDto(String location, String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("read replica routing")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(location)
+                .build();
+    }
+
+    private String eventName(int id, Cookie cookie) throws Exception {
+        return this.objectMapper.readTree(perform(get("/api/events/{id}", id), cookie)).get("name").asText();
+    }
+
+    /**
+     * 검색 조건 없는 첫 페이지(목록 캐시를 거친다)의 전체 이벤트 수
+     */
+    private long totalEvents(Cookie cookie) throws Exception {
+        return this.objectMapper.readTree(perform(get("/api/events").param("size", "10"), cookie)).path("page").path("totalElements").asLong();
+    }
+
+    private String perform(MockHttpServletRequestBuilder request, Cookie cookie) throws Exception {
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        return this.mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private int countEvents(String location, Cookie cookie) throws Exception {
+        return this.objectMapper.readTree(perform(get("/api/events").param("location", location), cookie)).path("page").path("totalElements").asInt();
+    }
+}
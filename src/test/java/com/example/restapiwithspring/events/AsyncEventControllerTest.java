@@ -0,0 +1,121 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.common.RestDocsConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureRestDocs
+@Import(RestDocsConfiguration.class)
+@ActiveProfiles("test")
+class AsyncEventControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("비동기로 이벤트를 생성해도 동기 API와 같은 HAL 응답을 받는다")
+    public void createEvent() throws Exception {
+        EventDto eventDto = EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+
+        MvcResult mvcResult = this.mockMvc.perform(post("/api/async/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .characterEncoding("UTF-8")
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("_links.self.href").value(Matchers.startsWith("http://localhost:8080/api/events/")))
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.update-event").exists())
+        ;
+    }
+
+    @Test
+    @DisplayName("비동기로 이벤트를 생성할 때 입력값이 잘못되면 같은 에러 형식으로 응답받는다")
+    public void createEventBadRequest() throws Exception {
+        EventDto eventDto = EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .basePrice(100)
+                .maxPrice(50)
+                .build();
+
+        MvcResult mvcResult = this.mockMvc.perform(post("/api/async/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .characterEncoding("UTF-8")
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").exists())
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @DisplayName("비동기로 이벤트 목록 조회하기")
+    public void queryEvents() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/async/events")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+        ;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectEventMapperTest {
+
+    @Test
+    @DisplayName("DirectEventMapper는 기존 ModelMapper와 같은 결과를 만든다")
+    public void sameAsModelMapper() {
+        EventDto eventDto = EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+
+        Event expected = new ModelMapper().map(eventDto, Event.class);
+        Event actual = new DirectEventMapper().toEvent(eventDto);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    public void selfCheck() {
+        new DirectEventMapper().selfCheck();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.common.RestDocsConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureRestDocs
+@Import(RestDocsConfiguration.class)
+@ActiveProfiles("test")
+class EnrollmentControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Test
+    @DisplayName("자리가 있을 때까지 신청을 받고, 다 차면 409 응답받기")
+    public void enroll() throws Exception {
+        Event event = generateEvent(2);
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(new EnrollmentDto("keesun"))))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("eventId").value(event.getId()))
+                .andExpect(jsonPath("attendee").value("keesun"))
+                .andExpect(jsonPath("_links.event").exists())
+                .andDo(document("create-enrollment",
+                        links(
+                                linkWithRel("event").description("link to the event")
+                                , linkWithRel("profile").description("link to profile")
+                        )
+                        , requestFields(
+                                fieldWithPath("attendee").description("Name of the attendee")
+                        )
+                ));
+        enroll(event, "second").andExpect(status().isAccepted());
+        enroll(event, "third")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentFull"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        assertThat(waitForEnrollments(event, 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("잘못된 신청이나 없는 이벤트에 신청하면 400, 404 응답받기")
+    public void enrollBadRequest() throws Exception {
+        Event event = generateEvent(10);
+        enroll(event, "")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("attendee"));
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", 183928)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(new EnrollmentDto("nobody"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("신청 기간이 아닌 이벤트에 신청하면 409 응답받기")
+    public void enrollNotOpen() throws Exception {
+        for (EventStatus eventStatus : EventStatus.values()) {
+            if (eventStatus == EventStatus.BEGAN_ENROLLMENT) {
+                continue;
+            }
+            Event event = generateEvent(10, eventStatus);
+            enroll(event, "early or late")
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("errors[0].objectName").value("enrollmentDto"))
+                    .andExpect(jsonPath("errors[0].code").value("enrollmentClosed"))
+                    .andExpect(jsonPath("_links.index").exists());
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 신청이 몰려도 limitOfEnrollment 만큼만 받고 저장한다")
+    public void enrollConcurrently() throws Exception {
+        int limit = 50;
+        Event event = generateEvent(limit);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String attendee = "attendee" + i;
+            statuses.add(executor.submit(() -> enroll(event, attendee).andReturn().getResponse().getStatus()));
+        }
+        int accepted = 0;
+        int conflicts = 0;
+        for (Future<Integer> status : statuses) {
+            int code = status.get(30, TimeUnit.SECONDS);
+            if (code == 202) {
+                accepted++;
+            } else if (code == 409) {
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(accepted).isEqualTo(limit);
+        assertThat(conflicts).isEqualTo(200 - limit);
+        assertThat(waitForEnrollments(event, limit)).isEqualTo(limit);
+    }
+
+    private ResultActions enroll(Event event, String attendee) throws Exception {
+        return this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(new EnrollmentDto(attendee))));
+    }
+
+    //신청 내역은 배치로 저장되므로 저장될 때까지 잠시 기다린다.
+    private long waitForEnrollments(Event event, long expected) throws InterruptedException {
+        long count = 0;
+        for (int i = 0; i < 50 && count < expected; i++) {
+            Thread.sleep(100);
+            count = this.enrollmentRepository.countByEventId(event.getId());
+        }
+        return count;
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        return generateEvent(limitOfEnrollment, EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    private Event generateEvent(int limitOfEnrollment, EventStatus eventStatus) {
+        return this.eventRepository.save(Event.builder()
+                .name("enrollment")
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(eventStatus)
+                .build());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrollmentCounterTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 10_000;
+
+    @Test
+    @DisplayName("여러 노드의 여러 스레드가 동시에 신청해도 모두 합쳐 limitOfEnrollment 보다 많이 받지 않는다")
+    public void neverOversell() throws Exception {
+        int limit = 50_000;
+        int unlimitedEnough = THREADS * ATTEMPTS_PER_THREAD;
+        FakeSeats seats = new FakeSeats(Map.of(1, limit, 2, unlimitedEnough));
+        seats.reserved.get(1).set(100);     //이미 저장된 신청
+        //같은 DB를 쓰는 노드 두 개
+        EnrollmentCounter[] nodes = {counter(seats), counter(seats)};
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            EnrollmentCounter counter = nodes[t % nodes.length];
+            results.add(executor.submit(() -> {
+                start.await();
+                int[] admitted = new int[3];
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int eventId = i % 3 == 0 ? 2 : 1;   //두 이벤트에 동시에 신청
+                    if (counter.tryAcquire(eventId)) {
+                        admitted[eventId]++;
+                        if (eventId == 2 && i % 7 == 0) {
+                            counter.release(eventId);   //저장 실패로 되돌리는 경우
+                            admitted[eventId]--;
+                        }
+                    }
+                }
+                return admitted;
+            }));
+        }
+
+        start.countDown();
+        int admitted1 = 0;
+        int admitted2 = 0;
+        for (Future<int[]> result : results) {
+            int[] admitted = result.get(30, TimeUnit.SECONDS);
+            admitted1 += admitted[1];
+            admitted2 += admitted[2];
+        }
+        executor.shutdown();
+
+        //event 1 : 신청이 자리보다 많다. 빌려간 자리를 모두 쓰므로 정확히 limit까지만 받는다.
+        assertThat(admitted1).isEqualTo(limit - 100);
+        assertThat(seats.reserved.get(1).get()).isEqualTo(limit);
+        //event 2 : 신청이 자리보다 적다. 빌린 자리는 받은 신청과 노드에 남은 자리의 합이다.
+        assertThat(admitted2).isGreaterThan(0).isLessThan(unlimitedEnough);
+        assertThat(seats.reserved.get(2).get()).isEqualTo(admitted2 + nodes[0].getAvailable(2) + nodes[1].getAvailable(2));
+        //DB는 lease-size 건에 한번 정도만 갱신한다.
+        assertThat(seats.leases.get()).isLessThan((admitted1 + admitted2) / 10);
+
+        //종료하면 남은 자리를 돌려준다.
+        for (EnrollmentCounter node : nodes) {
+            node.destroy();
+        }
+        assertThat(seats.reserved.get(2).get()).isEqualTo(admitted2);
+    }
+
+    @Test
+    @DisplayName("limitOfEnrollment가 0이면 제한 없이 받는다")
+    public void unlimited() {
+        FakeSeats seats = new FakeSeats(Map.of(3, 0));
+        EnrollmentCounter counter = counter(seats);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(counter.tryAcquire(3)).isTrue();
+        }
+        assertThat(seats.reserved.get(3).get()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("신청 기간이 끝나거나 한동안 신청이 없으면 남은 자리를 돌려주고 항목을 지운다")
+    public void giveBackOnCloseAndIdle() throws Exception {
+        FakeSeats seats = new FakeSeats(Map.of(4, 100, 5, 100));
+        EnrollmentCounter counter = new EnrollmentCounter(seats, 20, Duration.ofSeconds(1), Duration.ofMillis(100), 10_000);
+        assertThat(counter.tryAcquire(4)).isTrue();
+        assertThat(counter.tryAcquire(5)).isTrue();
+        assertThat(seats.reserved.get(4).get()).isEqualTo(20);
+
+        counter.close(4);
+        assertThat(seats.reserved.get(4).get()).isEqualTo(1);
+        assertThat(counter.getAvailable(4)).isZero();
+        //닫은 뒤에 저장에 실패해서 되돌리는 자리도 DB에 돌려준다.
+        counter.release(4);
+        assertThat(seats.reserved.get(4).get()).isZero();
+
+        Thread.sleep(200);
+        assertThat(counter.getAvailable(5)).isZero();
+        assertThat(seats.reserved.get(5).get()).isEqualTo(1);
+    }
+
+    private static EnrollmentCounter counter(FakeSeats seats) {
+        return new EnrollmentCounter(seats, 20, Duration.ofSeconds(1), Duration.ofMinutes(1), 10_000);
+    }
+
+    /**
+     * event 테이블의 limit_of_enrollment, reserved_seats 와 조건부 UPDATE를 흉내낸다.
+     */
+    static class FakeSeats extends EnrollmentSeats {
+
+        final Map<Integer, Integer> limits;
+        final Map<Integer, AtomicInteger> reserved = new ConcurrentHashMap<>();
+        final AtomicInteger leases = new AtomicInteger();
+
+        FakeSeats(Map<Integer, Integer> limits) {
+            super(null);
+            this.limits = limits;
+            limits.keySet().forEach(eventId -> this.reserved.put(eventId, new AtomicInteger()));
+        }
+
+        @Override
+        public synchronized int lease(Integer eventId, int seats) {
+            this.leases.incrementAndGet();
+            int limit = this.limits.get(eventId);
+            AtomicInteger reserved = this.reserved.get(eventId);
+            int leased = limit == 0 ? seats : Math.min(seats, limit - reserved.get());
+            if (leased <= 0) {
+                return 0;
+            }
+            reserved.addAndGet(leased);
+            return leased;
+        }
+
+        @Override
+        public synchronized void giveBack(Integer eventId, int seats) {
+            this.reserved.get(eventId).addAndGet(-seats);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventChangeStampTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("변경 번호는 트랜잭션마다 한번, 커밋할 때 올린다")
+    public void bumpOncePerTransactionAtCommit() {
+        long before = version();
+
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.eventRepository.saveAllAndFlush(List.of(event("stamp1"), event("stamp2")));
+            //flush 했어도 커밋 전에는 event_change 행을 건드리지 않는다(잠그지 않는다).
+            assertThat(version()).isEqualTo(before);
+            this.eventRepository.saveAndFlush(event("stamp3"));
+        });
+        assertThat(version()).isEqualTo(before + 1);
+
+        //롤백하면 올리지 않는다.
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.eventRepository.saveAndFlush(event("rolledBack"));
+            status.setRollbackOnly();
+        });
+        assertThat(version()).isEqualTo(before + 1);
+    }
+
+    private long version() {
+        return this.jdbcTemplate.queryForObject("select version from event_change where id = 1", Long.class);
+    }
+
+    private Event event(String name) {
+        return Event.builder()
+                .name(name)
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+}
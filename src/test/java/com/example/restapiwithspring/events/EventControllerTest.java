@@ -2,34 +2,53 @@ package com.example.restapiwithspring.events;
 
 
 import com.example.restapiwithspring.common.RestDocsConfiguration;
+import com.example.restapiwithspring.commons.HalCborConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.validation.Errors;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -50,6 +69,18 @@ class EventControllerTest {
     @Autowired
     EventRepository eventRepository;
 
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MappingJackson2CborHttpMessageConverter halCborHttpMessageConverter;
+
     @Test
     @DisplayName("정상적으로 이벤트를 생성하는 테스트")
     public void createEvent() throws Exception {
@@ -215,6 +246,312 @@ class EventControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("이벤트 생성 단계별 소요시간과 검증 실패 건수를 기록하는 테스트")
+    public void createEventMetrics() throws Exception {
+        long persisted = stageCount("create", "persistence");
+        long bound = stageCount("create", "binding");
+        double wrongValues = validationFailures("wrongValue");
+
+        this.mockMvc.perform(post("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(createEventDto("metrics"))))
+                .andExpect(status().isCreated());
+
+        EventDto wrong = createEventDto("wrong");
+        wrong.setMaxPrice(50);
+        this.mockMvc.perform(post("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(stageCount("create", "binding")).isEqualTo(bound + 2);
+        assertThat(stageCount("create", "persistence")).isEqualTo(persisted + 1);
+        assertThat(validationFailures("wrongValue")).isEqualTo(wrongValues + 2);   //basePrice, maxPrice
+        assertThat(this.meterRegistry.get("hibernate.statements.per.request").tag("method", "POST").summary().count()).isGreaterThan(0);
+    }
+
+    private long stageCount(String operation, String stage) {
+        return this.meterRegistry.get("events.stage").tag("operation", operation).tag("stage", stage).timer().count();
+    }
+
+    private double validationFailures(String code) {
+        return this.meterRegistry.find("events.validation.failures").tag("code", code).counters().stream()
+                .mapToDouble(c -> c.count()).sum();
+    }
+
+    @Test
+    @DisplayName("CBOR로 이벤트를 생성하고 HAL 구조의 CBOR로 응답하는 테스트")
+    public void createEventCbor() throws Exception {
+        ObjectMapper cborObjectMapper = this.halCborHttpMessageConverter.getObjectMapper();
+
+        byte[] response = this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .accept(HalCborConfiguration.HAL_CBOR)
+                    .content(cborObjectMapper.writeValueAsBytes(createEventDto("cbor"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, HalCborConfiguration.HAL_CBOR_VALUE))
+                .andExpect(header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode event = cborObjectMapper.readTree(response);
+        assertThat(event.get("id").isInt()).isTrue();
+        assertThat(event.get("name").asText()).isEqualTo("cbor");
+        assertThat(event.get("eventStatus").asText()).isEqualTo("DRAFT");
+        assertThat(event.get("beginEventDateTime").isArray()).isTrue();    //CBOR에서는 날짜를 숫자 배열로 쓴다.
+        assertThat(event.at("/_links/self/href").asText()).endsWith("/api/events/" + event.get("id").asInt());
+    }
+
+    @Test
+    @DisplayName("CBOR 요청의 에러도 같은 에러 형식으로 응답하는 테스트")
+    public void createEventCborBadRequest() throws Exception {
+        ObjectMapper cborObjectMapper = this.halCborHttpMessageConverter.getObjectMapper();
+        EventDto wrong = createEventDto("wrong");
+        wrong.setMaxPrice(50);
+
+        byte[] response = this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .accept(HalCborConfiguration.HAL_CBOR)
+                    .content(cborObjectMapper.writeValueAsBytes(wrong)))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode errors = cborObjectMapper.readTree(response);
+        assertThat(errors.at("/errors/0/code").asText()).isEqualTo("wrongValue");
+        assertThat(errors.at("/errors/0/objectName").asText()).isEqualTo("eventDto");
+        assertThat(errors.at("/_links/index/href").isMissingNode()).isFalse();
+    }
+
+    @Test
+    @DisplayName("CBOR 배열로 일괄 생성하고, 목록을 CBOR로 조회하는 테스트 (Accept가 없으면 HAL JSON)")
+    public void createEventsBatchAndQueryCbor() throws Exception {
+        ObjectMapper cborObjectMapper = this.halCborHttpMessageConverter.getObjectMapper();
+        byte[] batch = cborObjectMapper.writeValueAsBytes(List.of(createEventDto("batch1"), createEventDto("batch2")));
+
+        byte[] created = this.mockMvc.perform(post("/api/events/batch")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .accept(HalCborConfiguration.HAL_CBOR)
+                    .content(batch))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(cborObjectMapper.readTree(created).get("ids").size()).isEqualTo(2);
+
+        byte[] page = this.mockMvc.perform(get("/api/events")
+                    .param("size", "2")
+                    .accept(HalCborConfiguration.HAL_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode pageNode = cborObjectMapper.readTree(page);
+        assertThat(pageNode.at("/_embedded/eventList").size()).isEqualTo(2);
+        assertThat(pageNode.at("/_embedded/eventList/0/_links/self/href").isTextual()).isTrue();
+        assertThat(pageNode.at("/page/size").asInt()).isEqualTo(2);
+
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_VALUE));
+    }
+
+    @Test
+    @DisplayName("gzip을 받는 목록 조회는 압축한 응답을 캐시하고, 이벤트를 저장하면 캐시를 비우는 테스트")
+    public void queryEventsCompressedCache() throws Exception {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        MvcResult first = this.mockMvc.perform(get("/api/events")
+                    .param("page", "1").param("size", "10")
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        byte[] gzipBody = first.getResponse().getContentAsByteArray();
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(gzipBody)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(JsonPath.<Integer>read(json, "_embedded.eventList.length()")).isEqualTo(10);
+
+        //파라미터 순서가 달라도 같은 캐시를 사용하고, 컨트롤러(조회)를 거치지 않는다.
+        long queried = stageCount("query", "persistence");
+        this.mockMvc.perform(get("/api/events")
+                    .param("size", "10").param("page", "1")
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(content().bytes(gzipBody));
+        assertThat(stageCount("query", "persistence")).isEqualTo(queried);
+
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "1").param("size", "10")
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+
+        //저장하면 캐시를 비우므로 다시 조회한다.
+        generateEvent(100);
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "1").param("size", "10")
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(first.getResponse().getHeader(HttpHeaders.ETAG))));
+        assertThat(stageCount("query", "persistence")).isEqualTo(queried + 1);
+    }
+
+    @Test
+    @DisplayName("gzip;q=0 으로 gzip을 거절하면 캐시한 압축 응답이 아니라 압축하지 않은 응답을 받는 테스트")
+    public void queryEventsGzipRefused() throws Exception {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "0").param("size", "10")
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        for (String refused : List.of("gzip;q=0, deflate", "deflate, GZIP; q=0.000", "identity, *;q=0")) {
+            this.mockMvc.perform(get("/api/events")
+                        .param("page", "0").param("size", "10")
+                        .accept(MediaTypes.HAL_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(jsonPath("_embedded.eventList.length()").value(10));
+        }
+    }
+
+    @Test
+    @DisplayName("NDJSON으로 이벤트를 일괄 생성하는 테스트")
+    public void createEventsBatch() throws Exception {
+        String ndjson = this.objectMapper.writeValueAsString(createEventDto("batch1")) + "\n"
+                + this.objectMapper.writeValueAsString(createEventDto("batch2")) + "\n";
+
+        mockMvc.perform(post("/api/events/batch")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .characterEncoding("UTF-8")
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(ndjson))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("ids.length()").value(2))
+                .andExpect(jsonPath("errors").isEmpty())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andDo(document("create-events-batch",
+                        links(
+                                linkWithRel("query-events").description("link to query events")
+                                , linkWithRel("profile").description("link to profile")
+                        )
+                        , responseFields(
+                                fieldWithPath("ids").description("Identifiers of created events")
+                                , fieldWithPath("errors").description("errors of rejected events. objectName is eventDtos[index]")
+                                , fieldWithPath("_links.query-events.href").description("link to query events")
+                                , fieldWithPath("_links.profile.href").description("link to profile")
+                        )
+                ))
+        ;
+    }
+
+    @Test
+    @DisplayName("JSON 배열로 일괄 생성시 잘못된 항목만 index와 함께 에러로 응답하는 테스트")
+    public void createEventsBatchPartially() throws Exception {
+        EventDto wrong = createEventDto("wrong");
+        wrong.setBasePrice(100);
+        wrong.setMaxPrice(50);
+
+        mockMvc.perform(post("/api/events/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .characterEncoding("UTF-8")
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(List.of(createEventDto("ok1"), wrong, createEventDto("ok2")))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("ids.length()").value(2))
+                .andExpect(jsonPath("errors[0].objectName").value("eventDtos[1]"))
+                .andExpect(jsonPath("errors[0].field").value("basePrice"))
+                .andExpect(jsonPath("errors[0].rejectedValue").value("100"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+
+        mockMvc.perform(post("/api/events/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .characterEncoding("UTF-8")
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(List.of(wrong))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("ids").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("Prefer: respond-async 로 이벤트 생성을 요청하면 202를 받고 submission 링크로 저장 결과를 확인하는 테스트")
+    public void submitEvent() throws Exception {
+        MvcResult result = this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .header("Prefer", "respond-async")
+                    .content(this.objectMapper.writeValueAsString(createEventDto("submitted"))))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("ticket").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andDo(document("submit-event"))
+                .andReturn();
+        String location = result.getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String eventHref = null;
+        for (int i = 0; i < 50 && eventHref == null; i++) {
+            String body = this.mockMvc.perform(get(location).accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if ("CREATED".equals(JsonPath.read(body, "status"))) {
+                eventHref = JsonPath.read(body, "_links.event.href");
+            } else {
+                Thread.sleep(100);
+            }
+        }
+
+        assertThat(eventHref).isNotNull();
+        this.mockMvc.perform(get(eventHref).accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("submitted"));
+    }
+
+    @Test
+    @DisplayName("Prefer: respond-async 요청도 검증에 실패하면 400을 받는 테스트")
+    public void submitEventBadRequest() throws Exception {
+        EventDto wrong = createEventDto("wrong");
+        wrong.setMaxPrice(50);
+
+        this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Prefer", "respond-async")
+                    .content(this.objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].objectName").exists())
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(get("/api/events/submissions/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private EventDto createEventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+
     @Test
     @DisplayName("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
     public void queryEvents() throws Exception {
@@ -239,14 +576,402 @@ class EventControllerTest {
         ;
     }
 
-    private void generateEvent(int i) {
+    @Test
+    @DisplayName("상태, 무료, 오프라인, 장소, 시작일 범위 조건으로 이벤트 검색하기")
+    public void searchEvents() throws Exception {
+        //Given
+        String location = "검색장소" + System.nanoTime();
+        LocalDateTime weekStart = LocalDateTime.of(2018, 11, 12, 0, 0, 0);
+        this.generateEventForSearch(location, EventStatus.PUBLISHED, 0, weekStart.plusDays(1));      //검색 대상
+        this.generateEventForSearch(location, EventStatus.PUBLISHED, 0, weekStart.plusDays(6));      //검색 대상
+        this.generateEventForSearch(location, EventStatus.DRAFT, 0, weekStart.plusDays(1));          //DRAFT
+        this.generateEventForSearch(location, EventStatus.PUBLISHED, 100, weekStart.plusDays(1));    //유료
+        this.generateEventForSearch(location, EventStatus.PUBLISHED, 0, weekStart.plusDays(7));      //다음주
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                        .queryParam("eventStatus", "PUBLISHED")
+                        .queryParam("free", "true")
+                        .queryParam("offline", "true")
+                        .queryParam("location", location)
+                        .queryParam("beginEventFrom", weekStart.toString())
+                        .queryParam("beginEventTo", weekStart.plusDays(7).toString())
+                        .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[*].eventStatus").value(Matchers.everyItem(Matchers.is("PUBLISHED"))))
+                .andExpect(jsonPath("_embedded.eventList[*].free").value(Matchers.everyItem(Matchers.is(true))))
+                .andExpect(jsonPath("_links.self.href").value(Matchers.containsString("eventStatus=PUBLISHED")))
+        ;
+    }
+
+    private void generateEventForSearch(String location, EventStatus eventStatus, int basePrice, LocalDateTime beginEventDateTime) {
+        Event event = Event.builder()
+                .name("search event")
+                .description("test event")
+                .location(location)
+                .basePrice(basePrice)
+                .maxPrice(basePrice)
+                .beginEventDateTime(beginEventDateTime)
+                .eventStatus(eventStatus)
+                .build();
+        event.update();
+
+        this.eventRepository.save(event);
+    }
+
+    @Test
+    @DisplayName("커서(keyset) 방식으로 이벤트 목록을 다음/이전 페이지로 조회하기")
+    public void queryEventsByCursor() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(i -> {
+            this.generateEventWithDate(i);
+        });
+
+        //when
+        String firstPage = this.mockMvc.perform(get("/api/events")
+                        .param("cursor", "")
+                        .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())   //count 쿼리를 하지 않으므로 page 정보가 없다.
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self.href").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextHref = JsonPath.read(firstPage, "_links.next.href");
+        String secondPage = this.mockMvc.perform(get(nextHref))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        //이전 페이지로 돌아가면 첫 페이지와 같은 이벤트들이 조회되어야 한다.
+        String prevHref = JsonPath.read(secondPage, "_links.prev.href");
+        List<Integer> firstIds = JsonPath.read(firstPage, "_embedded.eventList[*].id");
+        this.mockMvc.perform(get(prevHref))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].id").value(firstIds))
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+        ;
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 에러발생하는 테스트")
+    public void queryEventsByWrongCursor() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                        .param("cursor", "wrong-cursor")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongValue"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @DisplayName("커서 조회에 검색 조건을 같이 보내면 에러발생하는 테스트")
+    public void queryEventsByCursorWithSearch() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                        .param("cursor", "")
+                        .param("location", "강남역")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongValue"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @DisplayName("기존의 이벤트를 하나 조회하기")
+    public void getEvent() throws Exception {
+        //Given
+        Event event = this.generateEvent(100);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").exists())
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-event"))
+        ;
+    }
+
+    @Test
+    @DisplayName("이벤트를 수정하는 테스트")
+    public void updateEvent() throws Exception {
+        //Given
+        Event event = this.eventRepository.save(new DirectEventMapper().toEvent(createEventDto("before")));
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        EventDto eventDto = createEventDto("updated");
+        eventDto.setBasePrice(0);
+        eventDto.setMaxPrice(0);
+
+        //When & Then
+        String updatedETag = this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("updated"))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.update-event").exists())
+                .andDo(document("update-event",
+                        links(
+                                linkWithRel("self").description("link to self")
+                                , linkWithRel("update-event").description("link to update this event")
+                                , linkWithRel("profile").description("link to profile")
+                        )
+                        , requestFields(
+                                fieldWithPath("name").description("Name of the event")
+                                , fieldWithPath("description").description("description of the event")
+                                , fieldWithPath("beginEnrollmentDateTime").description("date time of begin of enrollment")
+                                , fieldWithPath("closeEnrollmentDateTime").description("date time of close of enrollment")
+                                , fieldWithPath("beginEventDateTime").description("date time of begin of the event")
+                                , fieldWithPath("endEventDateTime").description("date time of end of the event")
+                                , fieldWithPath("location").description("location of the event")
+                                , fieldWithPath("basePrice").description("base price of the event")
+                                , fieldWithPath("maxPrice").description("max price of the event")
+                                , fieldWithPath("limitOfEnrollment").description("limit of enrollment of the event")
+                        )
+                ))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(updatedETag).isNotEqualTo(eTag);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("updated"))
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+    }
+
+    @Test
+    @DisplayName("JSON Merge Patch로 이벤트 일부만 수정하는 테스트")
+    public void patchEvent() throws Exception {
+        Event event = this.eventRepository.save(new DirectEventMapper().toEvent(createEventDto("before")));
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType("application/merge-patch+json")
+                    .accept(MediaTypes.HAL_JSON)
+                    .content("{\"name\":\"patched\",\"location\":null}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("patched"))
+                .andExpect(jsonPath("description").value("description"))
+                .andExpect(jsonPath("basePrice").value(100))
+                .andExpect(jsonPath("offline").value(false))
+                .andDo(document("patch-event"));
+    }
+
+    @Test
+    @DisplayName("수정 요청이 잘못됐거나 없는 이벤트면 400, 404 응답받기")
+    public void updateEventBadRequest() throws Exception {
+        Event event = this.eventRepository.save(new DirectEventMapper().toEvent(createEventDto("before")));
+
+        EventDto wrong = createEventDto("wrong");
+        wrong.setMaxPrice(50);
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongValue"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"unknown\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongFormat"));
+
+        this.mockMvc.perform(put("/api/events/{id}", 183928)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(createEventDto("none"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("다른 요청이 먼저 수정한 이벤트를 오래된 If-Match로 수정하면 412 응답받기")
+    public void updateEventPreconditionFailed() throws Exception {
+        Event event = this.eventRepository.save(new DirectEventMapper().toEvent(createEventDto("before")));
+        String staleETag = EventETags.of(event);
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType("application/merge-patch+json")
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .content("{\"name\":\"first\"}"))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType("application/merge-patch+json")
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .content("{\"name\":\"second\"}"))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("errors[0].code").value("preconditionFailed"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .content(this.objectMapper.writeValueAsString(createEventDto("second"))))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(this.eventRepository.findById(event.getId()).orElseThrow().getName()).isEqualTo("first");
+    }
+
+    @Test
+    @DisplayName("If-Match 없이 조회와 저장 사이에 다른 수정이 끼어들면 409 응답받기")
+    public void updateEventConflict() throws Exception {
+        Event event = this.eventRepository.save(new DirectEventMapper().toEvent(createEventDto("before")));
+        Event stale = this.eventRepository.findForUpdateById(event.getId()).orElseThrow();
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"name\":\"first\"}"))
+                .andExpect(status().isOk());
+
+        //@Version으로 막고, 그 예외는 409로 응답한다.
+        stale.setName("lost update");
+        assertThatThrownBy(() -> this.eventRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        ResponseEntity<?> response = this.eventController.optimisticLockingFailure();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(((EntityModel<Errors>) response.getBody()).getContent().getGlobalError().getCode()).isEqualTo("conflict");
+    }
+
+    @Test
+    @DisplayName("없는 이벤트를 조회했을 때 404 응답받기")
+    public void getEvent404() throws Exception {
+        this.mockMvc.perform(get("/api/events/11883"))
+                .andExpect(status().isNotFound())
+        ;
+    }
+
+    @Test
+    @DisplayName("단건 조회는 캐시를 거치고, 이벤트를 저장하면 캐시가 비워진다")
+    public void getEventReadsThroughCache() throws Exception {
+        //Given
+        Event event = this.generateEvent(101);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        assertThat(this.cacheManager.getCache("events").get(event.getId())).isNotNull();
+
+        //When
+        event.setName("changed");
+        this.eventRepository.save(event);
+
+        //Then
+        assertThat(this.cacheManager.getCache("events").get(event.getId())).isNull();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("changed"))
+        ;
+    }
+
+    @Test
+    @DisplayName("ETag가 같으면 이벤트 조회시 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        //Given
+        Event event = this.generateEvent(102);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+
+        //이벤트가 수정되면 ETag가 바뀐다.
+        event.setName("changed");
+        this.eventRepository.save(event);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+        ;
+    }
+
+    @Test
+    @DisplayName("목록이 바뀌지 않았으면 목록 조회시 304 응답받기")
+    public void queryEventsNotModified() throws Exception {
+        //Given
+        this.generateEvent(103);
+        String eTag = this.mockMvc.perform(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        ;
+
+        //CBOR는 다른 표현이므로 ETag가 다르다.
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                        .accept(HalCborConfiguration.HAL_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+        ;
+
+        //이벤트가 추가되면 다시 200을 응답한다.
+        Event event = this.generateEvent(104);
+        String addedETag = this.mockMvc.perform(get("/api/events").param("size", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //수정되어도 다시 200을 응답한다.
+        event.setName("changed");
+        this.eventRepository.save(event);
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, addedETag))
+                .andExpect(status().isOk())
+        ;
+    }
+
+    private void generateEventWithDate(int i) {
         Event event = Event.builder()
                 .name("event" + i)
                 .description("test event")
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 11, 19, 0, 0).plusDays(i % 5))   //같은 시간의 이벤트가 있어도 id로 순서가 정해진다.
                 .build()
                 ;
 
         this.eventRepository.save(event);
+    }
+
+    private Event generateEvent(int i) {
+        Event event = Event.builder()
+                .name("event" + i)
+                .description("test event")
+                .build()
+                ;
+
+        return this.eventRepository.save(event);
 
     }
 
@@ -0,0 +1,135 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventDtoValidator가 기존 검증(Bean Validation + EventValidator)과 같은 에러를 만드는지 비교한다.
+ */
+class EventDtoValidatorTest {
+
+    LocalValidatorFactoryBean validatorFactory;
+    EventDtoValidator eventDtoValidator;
+    SpringValidatorAdapter beanValidator;
+    EventValidator eventValidator = new EventValidator();
+
+    @BeforeEach
+    public void setUp() {
+        this.validatorFactory = new LocalValidatorFactoryBean();
+        this.validatorFactory.afterPropertiesSet();
+        this.eventDtoValidator = new EventDtoValidator(this.validatorFactory, this.eventValidator);
+        this.beanValidator = new SpringValidatorAdapter(this.validatorFactory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+        this.validatorFactory.close();
+    }
+
+    static Stream<Arguments> eventDtos() {
+        Stream<EventDto> eventDtos = Stream.of(
+                validEventDto(),
+                EventDto.builder().build(),
+                validEventDtoBuilder().name("").basePrice(-1).maxPrice(-10).limitOfEnrollment(-5).build(),
+                validEventDtoBuilder().description(null).endEventDateTime(null).build(),
+                validEventDtoBuilder().basePrice(200).maxPrice(100)
+                        .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 10, 19, 0)).build(),
+                validEventDtoBuilder().basePrice(-1).maxPrice(100)
+                        .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 10, 19, 0)).build()
+        );
+        return eventDtos.flatMap(eventDto -> Stream.of(Locale.ENGLISH, Locale.KOREAN)
+                .map(locale -> Arguments.of(eventDto, locale)));
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("eventDtos")
+    @DisplayName("기존 검증과 같은 에러(field, code, 인자, 메시지, 거부값)를 만든다")
+    public void sameErrorsAsBeanValidation(EventDto eventDto, Locale locale) {
+        LocaleContextHolder.setLocale(locale);
+
+        BindingResult expected = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, expected);
+        if (!expected.hasErrors()) {
+            this.eventValidator.validate(eventDto, expected);
+        }
+
+        //두번 검증해서 캐시된 메시지도 확인한다.
+        for (int i = 0; i < 2; i++) {
+            BindingResult actual = new BeanPropertyBindingResult(eventDto, "eventDto");
+            this.eventDtoValidator.validate(eventDto, actual);
+
+            assertThat(describe(actual.getFieldErrors())).containsExactlyInAnyOrderElementsOf(describe(expected.getFieldErrors()));
+            assertThat(actual.getGlobalErrorCount()).isEqualTo(expected.getGlobalErrorCount());
+        }
+    }
+
+    @Test
+    @DisplayName("통과하는 경우 객체를 만들지 않는다")
+    public void noAllocationForValidEventDto() {
+        EventDto eventDto = validEventDto();
+        BindingResult errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 10_000; i++) {
+            this.eventDtoValidator.validate(eventDto, errors);   //warm up
+        }
+
+        int iterations = 100_000;
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            this.eventDtoValidator.validate(eventDto, errors);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(errors.hasErrors()).isFalse();
+        //객체 하나라도 만들면 검증마다 16바이트 이상이다. JIT 컴파일 등으로 생기는 약간의 할당은 허용한다.
+        assertThat(allocated).isLessThan(iterations);
+    }
+
+    private static List<String> describe(List<FieldError> errors) {
+        return errors.stream()
+                .map(e -> String.join("|", e.getObjectName(), e.getField(), Arrays.toString(e.getCodes()),
+                        Arrays.deepToString(e.getArguments()), e.getDefaultMessage(), String.valueOf(e.getRejectedValue()),
+                        String.valueOf(e.isBindingFailure())))
+                .collect(Collectors.toList());
+    }
+
+    private static EventDto validEventDto() {
+        return validEventDtoBuilder().build();
+    }
+
+    private static EventDto.EventDtoBuilder validEventDtoBuilder() {
+        return EventDto.builder()
+                .name("spring")
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역");
+    }
+}
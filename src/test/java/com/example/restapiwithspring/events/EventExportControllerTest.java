@@ -0,0 +1,97 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.common.RestDocsConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureRestDocs
+@Import(RestDocsConfiguration.class)
+@ActiveProfiles("test")
+class EventExportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Test
+    @DisplayName("전체 이벤트를 NDJSON으로 내보내기")
+    public void exportEventsAsNdjson() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        long count = this.eventRepository.count();
+
+        //When
+        String body = this.mockMvc.perform(get("/api/events/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Matchers.startsWith(MediaType.APPLICATION_NDJSON_VALUE)))
+                .andReturn().getResponse().getContentAsString();
+
+        //Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize((int) count);
+        for (String line : lines) {
+            JsonNode event = this.objectMapper.readTree(line);
+            assertThat(event.get("id").isInt()).isTrue();
+            assertThat(event.has("name")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("전체 이벤트를 HAL_JSON으로 내보내기")
+    public void exportEventsAsHal() throws Exception {
+        //Given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/export")
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Matchers.startsWith(MediaTypes.HAL_JSON_VALUE)))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].name").exists())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self.href").exists())
+                .andExpect(jsonPath("_links.self.href").exists())
+                .andExpect(jsonPath("_links.profile.href").exists())
+                .andDo(document("export-events"))
+        ;
+    }
+
+    private void generateEvent(int i) {
+        Event event = Event.builder()
+                .name("event" + i)
+                .description("test event")
+                .build();
+
+        this.eventRepository.save(event);
+    }
+}
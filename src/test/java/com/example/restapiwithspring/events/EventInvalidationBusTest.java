@@ -0,0 +1,179 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.RestApiWithSpringApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 JVM에 애플리케이션 컨텍스트(노드) 세 개를 띄우고 같은 H2 메모리 DB를 쓰게 한다.
+ * 노드 A에서 저장한 이벤트가 캐시를 가진 노드 B, C에서 알림을 적용(poll)하기 전에는 이전 값으로, 적용한 뒤에는 새 값으로 보이는지 확인한다.
+ * 스케줄러 대신 테스트에서 poll을 호출한다.
+ */
+class EventInvalidationBusTest {
+
+    static final List<Node> nodes = new ArrayList<>();
+
+    static Node a;
+    static Node b;
+    static Node c;
+
+    RestTemplate restTemplate = new RestTemplate();
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:mem:invalidation-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        for (int i = 0; i < 3; i++) {
+            //명령행 인자는 test 프로필의 datasource url(컨텍스트마다 새 DB)보다 우선한다.
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(RestApiWithSpringApplication.class)
+                    .profiles("test")
+                    .run("--spring.datasource.url=" + url,
+                            "--server.port=0",
+                            "--app.events.invalidation.poll-interval=PT1H");
+            nodes.add(new Node(context));
+        }
+        a = nodes.get(0);
+        b = nodes.get(1);
+        c = nodes.get(2);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(node -> node.context.close());
+        nodes.clear();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 수정한 이벤트는 알림을 적용한 뒤에 새 값으로 조회된다")
+    public void updateOnOtherNode() throws Exception {
+        int id = createEvent(a, "spring");
+        assertThat(getEvent(b, id).get("name").asText()).isEqualTo("spring");
+        assertThat(getEvent(c, id).get("name").asText()).isEqualTo("spring");
+
+        this.restTemplate.exchange(a.url("/api/events/" + id), HttpMethod.PUT, json(a, eventDto("updated")), String.class);
+        assertThat(getEvent(a, id).get("name").asText()).isEqualTo("updated");
+        assertThat(getEvent(b, id).get("name").asText()).isEqualTo("spring");    //캐시
+
+        assertThat(a.bus().poll()).isZero();    //자기가 보낸 알림
+        assertThat(b.bus().poll()).isPositive();
+        assertThat(c.bus().poll()).isPositive();
+        assertThat(getEvent(b, id).get("name").asText()).isEqualTo("updated");
+        assertThat(getEvent(c, id).get("name").asText()).isEqualTo("updated");
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 생성한 이벤트는 알림을 적용한 뒤에 목록에 보인다")
+    public void createOnOtherNode() throws Exception {
+        drain();
+        long total = totalElements(b);
+
+        createEvent(a, "created on a");
+        assertThat(totalElements(b)).isEqualTo(total);     //목록 캐시
+
+        b.bus().poll();
+        assertThat(totalElements(b)).isEqualTo(total + 1);
+    }
+
+    @Test
+    @DisplayName("상태 전환(bulk update)은 모든 이벤트의 무효화를 알린다")
+    public void statusTransitionsInvalidateAll() throws Exception {
+        int id = createEvent(a, "transition");
+        a.context.getBean(JdbcTemplate.class).update("update event set event_status = ? where id = ?", EventStatus.PUBLISHED.name(), id);
+        drain();
+        assertThat(getEvent(b, id).get("eventStatus").asText()).isEqualTo(EventStatus.PUBLISHED.name());
+
+        a.context.getBean(EventStatusTransitions.class).apply(LocalDateTime.of(2018, 11, 11, 20, 0));
+        assertThat(getEvent(b, id).get("eventStatus").asText()).isEqualTo(EventStatus.PUBLISHED.name());
+
+        b.bus().poll();
+        assertThat(getEvent(b, id).get("eventStatus").asText()).isNotEqualTo(EventStatus.PUBLISHED.name());
+    }
+
+    private void drain() {
+        nodes.forEach(node -> node.bus().poll());
+    }
+
+    private int createEvent(Node node, String name) throws Exception {
+        String body = this.restTemplate.postForObject(node.url("/api/events"), json(node, eventDto(name)), String.class);
+        return node.objectMapper().readTree(body).get("id").asInt();
+    }
+
+    private JsonNode getEvent(Node node, int id) throws Exception {
+        return node.objectMapper().readTree(this.restTemplate.exchange(node.url("/api/events/" + id), HttpMethod.GET,
+                new HttpEntity<>(halHeaders()), String.class).getBody());
+    }
+
+    private long totalElements(Node node) throws Exception {
+        String body = this.restTemplate.exchange(node.url("/api/events?page=0&size=10"), HttpMethod.GET,
+                new HttpEntity<>(halHeaders()), String.class).getBody();
+        return node.objectMapper().readTree(body).get("page").get("totalElements").asLong();
+    }
+
+    private HttpEntity<String> json(Node node, EventDto eventDto) throws Exception {
+        HttpHeaders headers = halHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(node.objectMapper().writeValueAsString(eventDto), headers);
+    }
+
+    private HttpHeaders halHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaTypes.HAL_JSON));
+        return headers;
+    }
+
+    private EventDto eventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("description")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 11, 19, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 12, 19, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 13, 19, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 13, 21, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+
+    static class Node {
+
+        final ConfigurableApplicationContext context;
+
+        Node(ConfigurableApplicationContext context) {
+            this.context = context;
+        }
+
+        String url(String path) {
+            return "http://localhost:" + ((WebServerApplicationContext) this.context).getWebServer().getPort() + path;
+        }
+
+        EventInvalidationBus bus() {
+            return this.context.getBean(EventInvalidationBus.class);
+        }
+
+        ObjectMapper objectMapper() {
+            return this.context.getBean(ObjectMapper.class);
+        }
+    }
+}
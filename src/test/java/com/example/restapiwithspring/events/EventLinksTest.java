@@ -0,0 +1,61 @@
+package com.example.restapiwithspring.events;
+
+import com.example.restapiwithspring.index.IndexController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class EventLinksTest {
+
+    @BeforeEach
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setScheme("https");
+        request.setServerName("events.example.com");
+        request.setServerPort(8443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("EventLinks는 linkTo()와 같은 링크를 만든다")
+    public void sameAsLinkTo() {
+        EventLinks links = EventLinks.current();
+        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(42);
+
+        assertThat(links.event(42, IanaLinkRelations.SELF)).isEqualTo(selfLinkBuilder.withSelfRel());
+        assertThat(links.event(42, "update-event")).isEqualTo(selfLinkBuilder.withRel("update-event"));
+        assertThat(links.eventUri(42)).isEqualTo(selfLinkBuilder.toUri());
+        assertThat(links.events("query-events")).isEqualTo(linkTo(EventController.class).withRel("query-events"));
+        //methodOn()으로 만든 링크는 affordance를 가지고 있으므로 직렬화되는 href, rel만 비교한다.
+        Link index = linkTo(methodOn(IndexController.class).index(null)).withRel("index");
+        assertThat(links.index().getHref()).isEqualTo(index.getHref());
+        assertThat(links.index().getRel()).isEqualTo(index.getRel());
+        assertThat(links.cursor("abc", 20, IanaLinkRelations.NEXT).getHref())
+                .isEqualTo(linkTo(EventController.class).toUriComponentsBuilder().queryParam("cursor", "abc").queryParam("size", 20).toUriString());
+    }
+
+    @Test
+    @DisplayName("기준 주소는 요청당 한번만 계산한다")
+    public void cachedPerRequest() {
+        assertThat(EventLinks.current()).isSameAs(EventLinks.current());
+
+        bindRequest();
+        assertThat(EventLinks.current().eventsHref()).isEqualTo("https://events.example.com:8443/api/events");
+    }
+}
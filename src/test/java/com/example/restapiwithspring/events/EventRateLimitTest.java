@@ -0,0 +1,138 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 클라이언트별 요청 수 제한. 토큰이 거의 다시 차지 않도록(100초에 하나) 설정하고, 테스트마다 다른 API 키를 쓴다.
+ * 등록하지 않은 키(와 키가 없는 요청)는 모두 MockMvc의 요청 IP(127.0.0.1) 하나로 센다.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.api-keys=key-1,key-2,key-3,key-4",
+        "app.rate-limit.limits.create.permits-per-second=0.01",
+        "app.rate-limit.limits.create.burst=2",
+        "app.rate-limit.limits.query.permits-per-second=0.01",
+        "app.rate-limit.limits.query.burst=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventRateLimitTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Test
+    @DisplayName("생성 요청이 제한을 넘으면 본문을 읽기 전에 429, Retry-After, index 링크로 응답한다")
+    public void createEventRateLimited() throws Exception {
+        String apiKey = "key-1";
+        createEvent(apiKey, "{}").andExpect(status().isBadRequest());
+        createEvent(apiKey, "{}").andExpect(status().isBadRequest());
+
+        //본문을 바인딩했다면 400이 되었을 요청
+        createEvent(apiKey, "not json")
+                .andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))  //다음 토큰까지 100초 미만을 올림
+                .andExpect(jsonPath("errors[0].code").value("tooManyRequests"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        //비동기 API도 같은 제한을 쓴다.
+        this.mockMvc.perform(post("/api/async/events")
+                    .header("X-API-Key", apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content("{}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @DisplayName("생성과 조회, 클라이언트별로 제한을 따로 센다")
+    public void limitsPerOperationAndClient() throws Exception {
+        String apiKey = "key-2";
+        createEvent(apiKey, "{}").andExpect(status().isBadRequest());
+        createEvent(apiKey, "{}").andExpect(status().isBadRequest());
+        createEvent(apiKey, "{}").andExpect(status().isTooManyRequests());
+
+        for (int i = 0; i < 3; i++) {
+            queryEvents(apiKey).andExpect(status().isOk());
+        }
+        queryEvents(apiKey)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        createEvent("key-3", "{}").andExpect(status().isBadRequest());
+        queryEvents("key-3").andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("캐시에서 응답하는 목록 조회(gzip)도 제한을 센다")
+    public void cachedQueriesRateLimited() throws Exception {
+        String apiKey = "key-4";
+        //server.compression.min-response-size 보다 큰 목록이어야 캐시한다.
+        IntStream.range(0, 20).forEach(i -> this.eventRepository.save(Event.builder()
+                .name("cached" + i)
+                .description("rate limited cached query")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build()));
+        for (int i = 0; i < 3; i++) {
+            queryEvents(apiKey)
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+        queryEvents(apiKey)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+                .andExpect(jsonPath("errors[0].code").value("tooManyRequests"));
+    }
+
+    @Test
+    @DisplayName("등록하지 않은 API 키는 키마다 버킷을 받지 않고 IP로 센다")
+    public void unknownApiKeysShareAddressLimit() throws Exception {
+        createEvent(UUID.randomUUID().toString(), "{}").andExpect(status().isBadRequest());
+        createEvent(UUID.randomUUID().toString(), "{}").andExpect(status().isBadRequest());
+        createEvent(UUID.randomUUID().toString(), "{}").andExpect(status().isTooManyRequests());
+        createEvent(null, "{}").andExpect(status().isTooManyRequests());
+    }
+
+    private ResultActions createEvent(String apiKey, String content) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(content);
+        if (apiKey != null) {
+            request.header("X-API-Key", apiKey);
+        }
+        return this.mockMvc.perform(request);
+    }
+
+    private ResultActions queryEvents(String apiKey) throws Exception {
+        return this.mockMvc.perform(get("/api/events")
+                .header("X-API-Key", apiKey)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .accept(MediaTypes.HAL_JSON));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.restapiwithspring.events;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate 2차 캐시/쿼리 캐시 적용 확인. 스프링 캐시(events, eventPages)는 매번 비워서 Hibernate까지 가도록 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSecondLevelCacheTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("같은 이벤트를 다시 조회하면 SQL 없이 2차 캐시에서 읽는다")
+    public void findByIdFromSecondLevelCache() {
+        Event saved = this.eventRepository.save(event("cached", LocalDateTime.of(2018, 11, 13, 19, 0)));
+        this.entityManagerFactory.getCache().evictAll();
+        this.statistics.clear();
+
+        findById(saved.getId());
+        long statements = this.statistics.getPrepareStatementCount();
+        assertThat(statements).isEqualTo(1);
+
+        findById(saved.getId());
+        findById(saved.getId());
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(this.statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 keyset 페이지를 다시 조회하면 쿼리 캐시와 2차 캐시에서 읽는다")
+    public void keysetPageFromQueryCache() {
+        List<Event> events = IntStream.range(0, 5)
+                .mapToObj(i -> event("keyset" + i, LocalDateTime.of(1999, 1, 1, 0, i)))
+                .collect(Collectors.toList());
+        this.eventRepository.saveAll(events);
+        this.entityManagerFactory.getCache().evictAll();
+        this.statistics.clear();
+
+        List<Event> first = this.eventRepository.findKeysetFirst(PageRequest.of(0, 5));
+        long statements = this.statistics.getPrepareStatementCount();
+        assertThat(statements).isEqualTo(1);
+
+        List<Event> second = this.eventRepository.findKeysetFirst(PageRequest.of(0, 5));
+        assertThat(second).extracting(Event::getId).isEqualTo(first.stream().map(Event::getId).collect(Collectors.toList()));
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(this.statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        //Event를 저장하면 쿼리 캐시는 무효화된다.
+        this.eventRepository.save(event("keyset-new", LocalDateTime.of(1998, 1, 1, 0, 0)));
+        this.statistics.clear();
+        assertThat(this.eventRepository.findKeysetFirst(PageRequest.of(0, 5)).get(0).getName()).isEqualTo("keyset-new");
+        assertThat(this.statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    private void findById(Integer id) {
+        this.cacheManager.getCache("events").clear();
+        assertThat(this.eventRepository.findById(id)).isPresent();
+    }
+
+    private Event event(String name, LocalDateTime beginEventDateTime) {
+        return Event.builder()
+                .name(name)
+                .beginEventDateTime(beginEventDateTime)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+}
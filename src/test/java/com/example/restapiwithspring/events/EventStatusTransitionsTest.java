@@ -0,0 +1,138 @@
+package com.example.restapiwithspring.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventStatusTransitionsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    @Autowired
+    EventStatusTransitions eventStatusTransitions;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("시각에 따라 공개된 이벤트의 상태를 한번에 바꾸고, 다시 실행하면 아무것도 바꾸지 않는다")
+    public void apply() {
+        //캐시에 올라간 이벤트도 바뀐 상태로 조회되어야 한다.
+        Event beforeEnrollment = save(EventStatus.PUBLISHED, 1);
+        Event enrolling = save(EventStatus.PUBLISHED, -1);
+        Event enrollmentClosed = save(EventStatus.BEGAN_ENROLLMENT, -25);
+        Event started = save(EventStatus.PUBLISHED, -49);
+        Event ended = save(EventStatus.CLOSED_ENROLLMENT, -100);
+        Event draft = save(EventStatus.DRAFT, -100);
+        this.eventRepository.findById(started.getId());
+
+        Map<EventStatus, Integer> updated = this.eventStatusTransitions.apply(NOW);
+
+        assertThat(updated.values().stream().mapToInt(Integer::intValue).sum()).isGreaterThanOrEqualTo(4);
+        assertThat(statusOf(beforeEnrollment)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(enrolling)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(enrollmentClosed)).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+        assertThat(statusOf(started)).isEqualTo(EventStatus.STARTED);
+        assertThat(statusOf(ended)).isEqualTo(EventStatus.ENDED);
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DRAFT);
+
+        //한 단계씩이 아니라 한번에 옮기므로 version은 하나만 오른다.
+        assertThat(this.eventRepository.findById(ended.getId()).orElseThrow().getVersion()).isEqualTo(ended.getVersion() + 1);
+        assertThat(this.eventRepository.findById(beforeEnrollment.getId()).orElseThrow().getVersion()).isEqualTo(beforeEnrollment.getVersion());
+
+        Map<EventStatus, Integer> again = this.eventStatusTransitions.apply(NOW);
+        assertThat(again.values()).containsOnly(0);
+    }
+
+    @Test
+    @DisplayName("여러 노드가 동시에 실행해도 이벤트마다 한번만 바꾼다")
+    public void applyConcurrently() throws Exception {
+        LocalDateTime now = NOW.plusYears(1);
+        List<Event> events = new ArrayList<>();
+        IntStream.range(0, 100).forEach(i -> events.add(save(EventStatus.PUBLISHED, 24 * 365 - 1)));    //now 기준 모두 신청중
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return this.eventStatusTransitions.apply(now).get(EventStatus.BEGAN_ENROLLMENT);
+            }));
+        }
+        start.countDown();
+        int began = 0;
+        for (Future<Integer> result : results) {
+            began += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(began).isEqualTo(events.size());
+        for (Event event : events) {
+            Event reloaded = this.eventRepository.findById(event.getId()).orElseThrow();
+            assertThat(reloaded.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+            assertThat(reloaded.getVersion()).isEqualTo(event.getVersion() + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("커밋 전에 다른 요청이 조회한 전환 전 이벤트는 커밋한 뒤 캐시에서 지운다")
+    public void clearCachesAfterCommit() throws Exception {
+        LocalDateTime now = NOW.plusHours(24 * 365 * 2);
+        Event event = save(EventStatus.PUBLISHED, 24 * 365 * 2 - 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.eventStatusTransitions.apply(now);
+            //커밋 전: 다른 스레드는 전환 전 행을 읽어서 캐시에 넣는다.
+            try {
+                assertThat(executor.submit(() -> statusOf(event)).get(30, TimeUnit.SECONDS)).isEqualTo(EventStatus.PUBLISHED);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        executor.shutdown();
+
+        assertThat(statusOf(event)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    private EventStatus statusOf(Event event) {
+        return this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus();
+    }
+
+    /**
+     * NOW 기준 hours 시간 뒤에 신청을 시작하고, 신청은 하루, 이벤트는 신청 마감 하루 뒤에 시작해서 두시간 동안 하는 이벤트
+     */
+    private Event save(EventStatus eventStatus, int hours) {
+        LocalDateTime beginEnrollment = NOW.plusHours(hours);
+        return this.eventRepository.save(Event.builder()
+                .name("transition " + hours)
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(2).plusHours(2))
+                .eventStatus(eventStatus)
+                .build());
+    }
+}
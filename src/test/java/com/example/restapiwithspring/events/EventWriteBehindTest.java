@@ -0,0 +1,102 @@
+package com.example.restapiwithspring.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventWriteBehindTest {
+
+    @Test
+    @DisplayName("큐가 가득 차면 거절하고, 종료할 때 큐에 남은 이벤트를 모두 저장한다")
+    public void rejectWhenFullAndDrainOnStop() throws Exception {
+        EventRepository eventRepository = mock(EventRepository.class);
+        List<List<Event>> batches = new ArrayList<>();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Event> batch = new ArrayList<>(invocation.getArgument(0));
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);    //첫 배치를 저장하는 동안 큐가 차도록 붙잡아 둔다.
+            for (Event event : batch) {
+                event.setId(batches.size() * 100 + batch.indexOf(event));
+            }
+            batches.add(batch);
+            return batch;
+        });
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventWriteBehind writeBehind = new EventWriteBehind(eventRepository, mock(EventInvalidationBus.class), meterRegistry, 2, 10, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        writeBehind.start();
+
+        EventSubmission first = writeBehind.submit(event("first"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        EventSubmission second = writeBehind.submit(event("second"));
+        EventSubmission third = writeBehind.submit(event("third"));
+        assertThat(second).isNotNull();
+        assertThat(third).isNotNull();
+        assertThat(writeBehind.submit(event("rejected"))).isNull();
+        assertThat(meterRegistry.get("events.write.behind.queue.depth").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("events.write.behind.rejected").counter().count()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(EventSubmission.Status.PENDING);
+
+        release.countDown();
+        writeBehind.stop();
+
+        assertThat(writeBehind.isRunning()).isFalse();
+        assertThat(writeBehind.submit(event("stopped"))).isNull();
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).extracting(Event::getName).containsExactly("second", "third");
+        assertThat(writeBehind.getSubmission(third.getTicket()).getStatus()).isEqualTo(EventSubmission.Status.CREATED);
+        assertThat(third.getEventId()).isEqualTo(101);
+        assertThat(meterRegistry.get("events.write.behind.batch").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("배치 저장이 실패하면 한 건씩 다시 저장해서 저장할 수 없는 요청만 실패로 남긴다")
+    public void retryFailedBatchOneByOne() throws Exception {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("value too long"));
+        when(eventRepository.save(any())).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            if (event.getName().equals("bad")) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            event.setId(event.getName().length());
+            return event;
+        });
+        EventInvalidationBus eventInvalidationBus = mock(EventInvalidationBus.class);
+
+        EventWriteBehind writeBehind = new EventWriteBehind(eventRepository, eventInvalidationBus, new SimpleMeterRegistry(), 10, 10, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        EventSubmission good = new EventSubmission("good", event("good"));
+        EventSubmission bad = new EventSubmission("bad", event("bad"));
+        EventSubmission better = new EventSubmission("better", event("better"));
+        writeBehind.write(List.of(good, bad, better));
+
+        verify(eventRepository, times(3)).save(any());
+        assertThat(good.getStatus()).isEqualTo(EventSubmission.Status.CREATED);
+        assertThat(bad.getStatus()).isEqualTo(EventSubmission.Status.FAILED);
+        assertThat(better.getStatus()).isEqualTo(EventSubmission.Status.CREATED);
+        assertThat(better.getEventId()).isEqualTo(6);
+        verify(eventInvalidationBus).publish(List.of(4, 6));
+    }
+
+    private Event event(String name) {
+        return Event.builder().name(name).build();
+    }
+}